@@ -0,0 +1,80 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ProcessingResult;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Wall-clock time of one full {@link ItemService#processItemsAsync()} run against an embedded H2 database,
+ * for every combination of processing mode, executor mode and item count.
+ *
+ * <p>Each item still sleeps for the simulated 100 ms of work, so the numbers mostly show how well a mode
+ * overlaps that work and how much it adds on top of it.</p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemProcessingBenchmark {
+
+    @Param({"PER_ITEM", "CHUNKED"})
+    public String processingMode;
+
+    @Param({"WORK_STEALING", "BOUNDED"})
+    public String executorMode;
+
+    @Param({"100", "1000"})
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private ItemService itemService;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "item.processing.mode=" + processingMode,
+                        "item.processing.executor.mode=" + executorMode,
+                        "logging.level.root=WARN")
+                .run();
+        itemRepository = context.getBean(ItemRepository.class);
+        itemService = context.getBean(ItemService.class);
+
+        itemRepository.saveAll(LongStream.range(0, itemCount)
+                .mapToObj(i -> new Item(null, "Item" + i, "Description " + i, "NEW", "item" + i + "@example.com"))
+                .toList());
+        ids = itemRepository.findIdsAfter(0L, Limit.of(itemCount));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatuses() {
+        itemRepository.updateStatusByIdIn("NEW", ids);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProcessingResult processItemsAsync() {
+        return itemService.processItemsAsync().join();
+    }
+}
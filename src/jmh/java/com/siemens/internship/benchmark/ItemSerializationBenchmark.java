@@ -0,0 +1,43 @@
+package com.siemens.internship.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.siemens.internship.model.Item;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson serialization of large {@code List<Item>} payloads, as returned by the list and process endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int itemCount;
+
+    private ObjectWriter writer;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Item.class));
+        items = LongStream.range(0, itemCount)
+                .mapToObj(i -> new Item(i, "Item" + i, "Description " + i, "PROCESSED", "item" + i + "@example.com"))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(items);
+    }
+}
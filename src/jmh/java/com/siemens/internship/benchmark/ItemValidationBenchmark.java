@@ -0,0 +1,53 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.model.Item;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating one {@link Item} through the Hibernate validator, which is dominated by the email pattern.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemValidationBenchmark {
+
+    @Param({"valid", "invalid", "long"})
+    public String email;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        String address = switch (email) {
+            case "valid" -> "john.doe@example.com";
+            case "invalid" -> "john.doe(at)example.com";
+            // Long enough to show whether the cost grows with the length of the address
+            default -> "a".repeat(200) + "@" + "b".repeat(200) + ".com";
+        };
+        item = new Item(1L, "Item", "Description", "NEW", address);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Item>> validate() {
+        return validator.validate(item);
+    }
+}
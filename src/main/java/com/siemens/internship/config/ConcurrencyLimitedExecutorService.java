@@ -0,0 +1,172 @@
+package com.siemens.internship.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor decorator that lets at most {@code maxConcurrency} tasks run at the same time,
+ * whatever the number of threads of the underlying executor.
+ *
+ * <p>A permit is taken on the submitting thread, before the task is handed to the underlying executor, so a
+ * worker thread never waits for one. Tasks beyond the limit wait in a queue of {@code queueCapacity} entries
+ * and are run by the next task that finishes, on its thread and with its permit. Submitting never blocks and
+ * never runs the task on the caller: once the queue is full, the task is rejected with a
+ * {@link RejectedExecutionException}.</p>
+ */
+public class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final BlockingQueue<Runnable> waiting;
+    private final AtomicInteger activeCount = new AtomicInteger();
+    // Tasks waiting in the queue or handed to the underlying executor but not started yet
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    public ConcurrencyLimitedExecutorService(ExecutorService delegate, int maxConcurrency, int queueCapacity) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1, got " + maxConcurrency);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1, got " + queueCapacity);
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.permits = new Semaphore(maxConcurrency);
+        this.waiting = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task, "task");
+        if (delegate.isShutdown()) {
+            throw new RejectedExecutionException("Processing executor is shut down");
+        }
+        waitingCount.incrementAndGet();
+        if (permits.tryAcquire()) {
+            start(task);
+            return;
+        }
+        if (!waiting.offer(task)) {
+            waitingCount.decrementAndGet();
+            throw new RejectedExecutionException("Processing executor has " + queueCapacity
+                    + " tasks waiting for one of its " + maxConcurrency + " permits");
+        }
+        // A task finishing between tryAcquire and offer released its permit without seeing this one
+        startWaiting();
+    }
+
+    /**
+     * Hands the task to the underlying executor; the caller holds a permit, which is given back if the task
+     * is rejected.
+     */
+    private void start(Runnable task) {
+        try {
+            delegate.execute(() -> runThenDrain(task));
+        } catch (RuntimeException e) {
+            waitingCount.decrementAndGet();
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the task, then the waiting tasks one after the other while there are any, keeping the permit.
+     */
+    private void runThenDrain(Runnable task) {
+        Runnable next = task;
+        while (next != null) {
+            waitingCount.decrementAndGet();
+            activeCount.incrementAndGet();
+            try {
+                next.run();
+            } catch (RuntimeException | Error e) {
+                activeCount.decrementAndGet();
+                permits.release();
+                startWaiting();
+                throw e;
+            }
+            activeCount.decrementAndGet();
+            next = waiting.poll();
+            if (next != null) {
+                // An interrupt aimed at the previous task, e.g. a cancelled attempt, is not for this one
+                Thread.interrupted();
+            }
+        }
+        permits.release();
+        startWaiting();
+    }
+
+    /**
+     * Starts waiting tasks while permits are free.
+     */
+    private void startWaiting() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                return;
+            }
+            start(next);
+        }
+    }
+
+    /**
+     * @return number of tasks currently running
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * @return number of submitted tasks that have not started yet
+     */
+    public int getQueuedCount() {
+        return waitingCount.get();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void shutdown() {
+        // Waiting tasks still run: the running ones drain the queue before their threads finish
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> neverRun = new ArrayList<>();
+        waiting.drainTo(neverRun);
+        waitingCount.addAndGet(-neverRun.size());
+        neverRun.addAll(delegate.shutdownNow());
+        return neverRun;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,29 @@
+package com.siemens.internship.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the read-through item cache, bound from the {@code item.cache.*} keys.
+ */
+@Data
+@ConfigurationProperties(prefix = "item.cache")
+public class ItemCacheProperties {
+
+    /**
+     * Whether lookups by id go through the cache at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached items; the least valuable entries are evicted beyond it.
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * How long an entry stays cached after it was loaded or written.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
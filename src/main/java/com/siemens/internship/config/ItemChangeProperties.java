@@ -0,0 +1,39 @@
+package com.siemens.internship.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Item change feed served by {@code GET /api/items/changes}, bound from the {@code item.changes.*} keys.
+ */
+@Data
+@ConfigurationProperties(prefix = "item.changes")
+public class ItemChangeProperties {
+
+    /**
+     * Whether item writes are recorded in the change feed at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a change stays in the feed. Consumers that fall further behind have to reload the items.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * How often changes older than the retention are deleted.
+     */
+    private Duration compactionInterval = Duration.ofHours(1);
+
+    /**
+     * Longest time a {@code GET /api/items/changes} request may wait for a change when none is pending.
+     */
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    /**
+     * Threads reading the feed again for the waiting requests once a change is written.
+     */
+    private int rereadThreads = 2;
+}
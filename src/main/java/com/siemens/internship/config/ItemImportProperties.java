@@ -0,0 +1,18 @@
+package com.siemens.internship.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning options for {@code POST /api/items/bulk}, bound from the {@code item.import.*} keys.
+ */
+@Data
+@ConfigurationProperties(prefix = "item.import")
+public class ItemImportProperties {
+
+    /**
+     * Number of valid items inserted per transaction. Also used as the Hibernate JDBC batch size, so each
+     * transaction sends its inserts in one batch.
+     */
+    private int batchSize = 50;
+}
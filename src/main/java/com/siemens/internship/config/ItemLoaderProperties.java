@@ -0,0 +1,35 @@
+package com.siemens.internship.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Batching of lookups by id that miss the item cache, bound from the {@code item.loader.*} keys.
+ */
+@Data
+@ConfigurationProperties(prefix = "item.loader")
+public class ItemLoaderProperties {
+
+    /**
+     * Whether concurrent lookups are batched into one query; without it every lookup runs its own.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Longest time the first lookup of a batch waits for others to join it. This is the latency batching adds
+     * to a lookup when the service is idle.
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * Maximum number of ids resolved with one query; a full batch is sent without waiting for the window.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Number of lookups that may wait for their batch; when full, callers block until there is room.
+     */
+    private int capacity = 10_000;
+}
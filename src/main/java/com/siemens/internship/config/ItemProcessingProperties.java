@@ -0,0 +1,274 @@
+package com.siemens.internship.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Tuning options for {@link com.siemens.internship.service.ItemService#processItemsAsync()},
+ * bound from the {@code item.processing.*} keys in application.properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "item.processing")
+public class ItemProcessingProperties {
+
+    /**
+     * Strategy used to walk and update the item table.
+     */
+    private Mode mode = Mode.PER_ITEM;
+
+    /**
+     * Number of items loaded with one query and updated with one statement in {@link Mode#CHUNKED} mode,
+     * and number of ids enumerated with one range query in {@link Mode#PER_ITEM} mode.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of {@link Mode#PER_ITEM} tasks scheduled but not finished at once. Bounds the memory of a run
+     * whatever the table size; keep it above executor.max-concurrency, plus write-buffer.batch-size when the buffer
+     * is enabled, so neither the executor nor the buffer runs dry.
+     */
+    private int maxInFlight = 200;
+
+    /**
+     * Longest time a {@code GET /api/items/process} request waits for its run. When it expires, or the client
+     * disconnects first, the run is cancelled and the items it has not started yet are skipped.
+     */
+    private Duration requestTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Whether a coalesced run is followed at once by another one when items were created while it ran. Callers
+     * that joined the finished run get its result; the follow-up run is the one later callers join.
+     */
+    private boolean rerunOnNewItems = false;
+
+    /**
+     * Longest time one attempt at a {@link Mode#PER_ITEM} item may take before it counts as failed; zero disables
+     * the timeout. A timed-out attempt is interrupted if it is still in its simulated work, and otherwise left to
+     * finish its database call without writing afterwards; a retry leaves an item already marked processed as it is.
+     */
+    private Duration itemTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Retries of {@link Mode#PER_ITEM} items whose attempt failed or timed out.
+     */
+    private final RetryProperties retry = new RetryProperties();
+
+    /**
+     * Circuit breaker that stops a {@link Mode#PER_ITEM} run once too many of its items fail.
+     */
+    private final CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+
+    /**
+     * Executor that runs the per-item processing tasks.
+     */
+    private final ExecutorProperties executor = new ExecutorProperties();
+
+    /**
+     * Background sweep that keeps processing newly created items.
+     */
+    private final SweepProperties sweep = new SweepProperties();
+
+    /**
+     * Buffer that batches the status writes of {@link Mode#PER_ITEM} processing.
+     */
+    private final WriteBufferProperties writeBuffer = new WriteBufferProperties();
+
+    /**
+     * Stage sizes of {@link Mode#PIPELINED} runs.
+     */
+    private final PipelineProperties pipeline = new PipelineProperties();
+
+    /**
+     * Leases with which instances sharing one database split a {@link Mode#LEASED} run.
+     */
+    private final LeaseProperties lease = new LeaseProperties();
+
+    public enum Mode {
+        /** One find per item; status writes go through the write buffer, or one UPDATE per item without it. */
+        PER_ITEM,
+        /** Walks the table by id range, one select and one bulk update per chunk. */
+        CHUNKED,
+        /**
+         * Like {@link #CHUNKED}, but selects only items not yet processed and saves a watermark after every chunk,
+         * so an interrupted run resumes after the last written chunk.
+         */
+        INCREMENTAL,
+        /**
+         * Like {@link #CHUNKED} over items not processed yet, but every chunk is first claimed with a lease, so
+         * several instances sharing one database split a run instead of each processing every item.
+         */
+        LEASED,
+        /**
+         * Read, transform and write stages connected by bounded queues, each on its own threads, with the
+         * per-item business logic supplied by {@link com.siemens.internship.service.ItemProcessor} beans.
+         */
+        PIPELINED
+    }
+
+    @Data
+    public static class ExecutorProperties {
+
+        /**
+         * Kind of threads backing the executor.
+         */
+        private ExecutorMode mode = ExecutorMode.WORK_STEALING;
+
+        /**
+         * Maximum number of processing tasks running at once, whatever the mode. Keep this at or below
+         * spring.datasource.hikari.maximum-pool-size so tasks never queue up on the connection pool.
+         */
+        private int maxConcurrency = 10;
+
+        /**
+         * Number of platform threads in {@link ExecutorMode#BOUNDED} mode.
+         */
+        private int poolSize = 10;
+
+        /**
+         * Number of tasks that may wait for a concurrency permit, in every mode; beyond it tasks are rejected.
+         */
+        private int queueCapacity = 1000;
+    }
+
+    @Data
+    public static class SweepProperties {
+
+        /**
+         * Whether unprocessed items are picked up periodically without a /process call.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Pause between the end of one sweep and the start of the next.
+         */
+        private Duration interval = Duration.ofSeconds(30);
+
+        /**
+         * Maximum number of items processed per sweep.
+         */
+        private int batchSize = 100;
+    }
+
+    @Data
+    public static class WriteBufferProperties {
+
+        /**
+         * Whether {@link Mode#PER_ITEM} processing queues its status writes and flushes them in batches,
+         * instead of issuing one UPDATE per item. The buffer's flusher thread only runs while it is enabled.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of status writes flushed with one statement.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Longest time a queued write waits for its batch to fill before it is flushed anyway.
+         */
+        private Duration flushInterval = Duration.ofMillis(20);
+
+        /**
+         * Number of writes that may wait for a flush; when full, processing threads block until there is room.
+         */
+        private int capacity = 1000;
+    }
+
+    @Data
+    public static class RetryProperties {
+
+        /**
+         * Attempts per item, the first one included; 1 disables retries. Interrupted items are never retried.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Backoff before the first retry. It doubles with every further retry up to max-backoff, and each wait is
+         * drawn at random between half and all of it, so retries of items that failed together spread out.
+         */
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        /**
+         * Upper bound of the backoff between two attempts.
+         */
+        private Duration maxBackoff = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class CircuitBreakerProperties {
+
+        /**
+         * Whether a run stops scheduling new items once too many of its items fail.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of most recently finished items the failure rate is computed over; the breaker cannot open
+         * before this many items have finished.
+         */
+        private int windowSize = 20;
+
+        /**
+         * Failure rate over the window above which the breaker opens, between 0 and 1.
+         */
+        private double failureRateThreshold = 0.5;
+    }
+
+    @Data
+    public static class PipelineProperties {
+
+        /**
+         * Items loaded with one query by the read stage.
+         */
+        private int readBatchSize = 500;
+
+        /**
+         * Maximum number of tasks running the ItemProcessor steps at once, on an executor of their own outside
+         * {@code executor.max-concurrency}. Size it for the processors' latency, not for the database: it does not
+         * hold connections unless a processor does.
+         */
+        private int transformConcurrency = 16;
+
+        /**
+         * Maximum number of tasks of the write stage at once, each holding one database connection while it writes.
+         */
+        private int writeConcurrency = 2;
+
+        /**
+         * Maximum number of items marked processed with one UPDATE by the write stage.
+         */
+        private int writeBatchSize = 200;
+
+        /**
+         * Capacity of each queue between two stages; a full queue pauses the stage feeding it.
+         */
+        private int queueCapacity = 1000;
+    }
+
+    @Data
+    public static class LeaseProperties {
+
+        /**
+         * Name under which this instance claims items; must differ between instances sharing a database.
+         */
+        private String owner = UUID.randomUUID().toString();
+
+        /**
+         * How long a claimed chunk stays reserved. Once it has expired, for instance because its instance crashed,
+         * another instance takes the chunk over; keep it well above the time one chunk takes.
+         */
+        private Duration duration = Duration.ofMinutes(5);
+    }
+
+    public enum ExecutorMode {
+        /** Fork-join pool sized to the number of CPU cores. */
+        WORK_STEALING,
+        /** Fixed pool of platform threads with a bounded queue. */
+        BOUNDED,
+        /** One virtual thread per task; requires Java 21 (see the java21 Maven profile). */
+        VIRTUAL
+    }
+}
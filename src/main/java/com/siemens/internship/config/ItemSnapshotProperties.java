@@ -0,0 +1,31 @@
+package com.siemens.internship.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Options for the binary item snapshot, bound from the {@code item.snapshot.*} keys.
+ */
+@Data
+@ConfigurationProperties(prefix = "item.snapshot")
+public class ItemSnapshotProperties {
+
+    /**
+     * Snapshot file written by {@code POST /api/items/snapshot} and read at startup.
+     */
+    private Path path = Path.of("data", "items.snapshot");
+
+    /**
+     * Whether an empty item table is reloaded from the snapshot file when the application starts.
+     */
+    private boolean restoreOnStartup = false;
+
+    /**
+     * Approximate size of a snapshot block. Each block is mapped into memory and inserted with one JDBC batch
+     * on restore.
+     */
+    private DataSize blockSize = DataSize.ofMegabytes(4);
+}
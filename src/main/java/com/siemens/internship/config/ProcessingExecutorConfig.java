@@ -0,0 +1,92 @@
+package com.siemens.internship.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the executor used for item processing, as selected by {@code item.processing.executor.mode}, and the
+ * executors kept apart from it.
+ */
+@Configuration
+public class ProcessingExecutorConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ConcurrencyLimitedExecutorService itemProcessingExecutor(ItemProcessingProperties processingProperties) {
+        ItemProcessingProperties.ExecutorProperties settings = processingProperties.getExecutor();
+        ExecutorService delegate = switch (settings.getMode()) {
+            case WORK_STEALING -> Executors.newWorkStealingPool();
+            // The limiter hands over at most maxConcurrency tasks at a time and queues the rest itself, so this
+            // queue never fills up; a rejection is reported to the submitter rather than run on its thread
+            case BOUNDED -> new ThreadPoolExecutor(settings.getPoolSize(), settings.getPoolSize(),
+                    0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(settings.getMaxConcurrency()),
+                    new ThreadPoolExecutor.AbortPolicy());
+            case VIRTUAL -> newVirtualThreadPerTaskExecutor();
+        };
+        return new ConcurrencyLimitedExecutorService(delegate, settings.getMaxConcurrency(),
+                settings.getQueueCapacity());
+    }
+
+    /**
+     * Creates the executor of the {@code PIPELINED} transform stage. The stage caps its own tasks at
+     * {@code item.processing.pipeline.transform-concurrency}, so threads are only created as the stage needs them and
+     * the processing executor's database-bound cap does not apply.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService itemTransformExecutor(ItemProcessingProperties processingProperties) {
+        return processingProperties.getExecutor().getMode() == ItemProcessingProperties.ExecutorMode.VIRTUAL
+                ? newVirtualThreadPerTaskExecutor()
+                : Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Creates the executor on which long-polling change feed requests read the feed again once a change is written.
+     * It is kept apart from the processing executor, so the reads neither queue behind processing tasks nor are
+     * rejected when its queue is full; its threads only run short queries.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService itemChangeFeedExecutor(ItemChangeProperties changeProperties) {
+        return Executors.newFixedThreadPool(changeProperties.getRereadThreads());
+    }
+
+    /**
+     * Publishes the number of running and waiting processing tasks as gauges.
+     */
+    @Bean
+    public MeterBinder itemProcessingExecutorMetrics(
+            @Qualifier("itemProcessingExecutor") ConcurrencyLimitedExecutorService itemProcessingExecutor) {
+        return registry -> {
+            Gauge.builder("item.processing.executor.active", itemProcessingExecutor,
+                            ConcurrencyLimitedExecutorService::getActiveCount)
+                    .description("Processing tasks currently running")
+                    .register(registry);
+            Gauge.builder("item.processing.executor.queued", itemProcessingExecutor,
+                            ConcurrencyLimitedExecutorService::getQueuedCount)
+                    .description("Processing tasks waiting for a thread or a concurrency permit")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Looks the virtual-thread factory up reflectively so the project still compiles for Java 17.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("VIRTUAL executor mode requires Java 21 or newer, running on "
+                    + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.config.ItemChangeProperties;
+import com.siemens.internship.model.ItemChangePage;
+import com.siemens.internship.service.ItemChangeLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.ResponseEntity.*;
+
+/**
+ * Change feed of the items, so consumers can stay in sync without listing every item again.
+ */
+@RestController
+@RequestMapping("/api/items/changes")
+public class ItemChangeController {
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private final ItemChangeLog changeLog;
+    private final ItemChangeProperties changeProperties;
+
+    @Autowired
+    public ItemChangeController(ItemChangeLog changeLog, ItemChangeProperties changeProperties) {
+        this.changeLog = changeLog;
+        this.changeProperties = changeProperties;
+    }
+
+    /**
+     * Returns the changes after sequence number {@code since}, oldest first. Pass the {@code next} of a response as
+     * {@code since} to fetch the following changes.
+     *
+     * <p>With {@code wait} seconds and no pending change, the request is held until a change is written, or until
+     * the wait (capped at {@code item.changes.max-wait}) runs out and an empty page is returned. When changes after
+     * {@code since} have already been compacted away, the response is 410 with the sequence number to follow the
+     * feed from once the consumer has reloaded the items.</p>
+     */
+    @GetMapping
+    public DeferredResult<ResponseEntity<ItemChangePage>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit,
+            @RequestParam(defaultValue = "0") int wait) {
+        long waitMillis = Math.min(TimeUnit.SECONDS.toMillis(wait), changeProperties.getMaxWait().toMillis());
+        DeferredResult<ResponseEntity<ItemChangePage>> result =
+                new DeferredResult<>(waitMillis > 0 ? waitMillis : null);
+        if (!changeProperties.isEnabled()) {
+            result.setResult(notFound().build());
+            return result;
+        }
+        if (since < 0 || limit < 1 || limit > MAX_LIMIT || wait < 0) {
+            result.setResult(badRequest().build());
+            return result;
+        }
+
+        CompletableFuture<ItemChangePage> changes = waitMillis > 0
+                ? changeLog.awaitChangesSince(since, limit)
+                : CompletableFuture.completedFuture(changeLog.changesSince(since, limit));
+        // Nothing was written while the request waited: the consumer polls again from the same position
+        result.onTimeout(() -> result.setResult(ok(new ItemChangePage(List.of(), since, false))));
+        result.onCompletion(() -> changes.cancel(false));
+        changes.thenAccept(page -> result.setResult(page.expired()
+                        ? status(HttpStatus.GONE).body(page)
+                        : ok(page)))
+                .exceptionally(ex -> {
+                    result.setResult(status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    return null;
+                });
+        return result;
+    }
+}
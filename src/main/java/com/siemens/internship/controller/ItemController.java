@@ -1,10 +1,25 @@
 package com.siemens.internship.controller;
 
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.model.BulkImportResult;
+import com.siemens.internship.service.ItemExportService;
+import com.siemens.internship.service.ItemImportService;
+import com.siemens.internship.service.ItemSnapshotService;
 import com.siemens.internship.service.ItemService;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemCacheStats;
+import com.siemens.internship.model.ItemPage;
+import com.siemens.internship.model.ItemStats;
+import com.siemens.internship.model.ProcessingResult;
+import com.siemens.internship.model.ProcessingSummary;
+import com.siemens.internship.model.SnapshotResult;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
 import static org.springframework.http.ResponseEntity.*;
 
@@ -12,25 +27,76 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/items")
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemExportService itemExportService;
+    private final ItemImportService itemImportService;
+    private final ItemSnapshotService itemSnapshotService;
+    private final ItemProcessingProperties processingProperties;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService,
+                          ItemExportService itemExportService,
+                          ItemImportService itemImportService,
+                          ItemSnapshotService itemSnapshotService,
+                          ItemProcessingProperties processingProperties) {
         this.itemService = itemService;
+        this.itemExportService = itemExportService;
+        this.itemImportService = itemImportService;
+        this.itemSnapshotService = itemSnapshotService;
+        this.processingProperties = processingProperties;
     }
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Lists items in id order, one page at a time, optionally only those with the given status.
+     * Pass the {@code next} cursor of a page as {@code after} to fetch the following one.
+     */
     @GetMapping
-    public ResponseEntity<List<Item>> getAllItems() {
-        return itemService.findAll().isEmpty()
+    public ResponseEntity<ItemPage> getAllItems(@RequestParam(required = false) Long after,
+                                                @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                @RequestParam(required = false) String status) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return badRequest().build();
+        }
+        ItemPage page = itemService.findPage(after, limit, status);
+        return page.items().isEmpty()
                 ? noContent().build()
-                : ok(itemService.findAll());
+                : ok(page);
+    }
+
+    /**
+     * Exports every item as NDJSON ({@code format=ndjson}, the default) or CSV ({@code format=csv}).
+     * Rows are written straight to the response as they are read, so memory use does not depend on the table size.
+     */
+    @GetMapping("/export")
+    public void exportItems(@RequestParam(defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        ItemExportService.Format exportFormat;
+        try {
+            exportFormat = ItemExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+
+        response.setContentType(exportFormat == ItemExportService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"items." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"");
+        itemExportService.export(exportFormat, response.getOutputStream());
     }
 
     @PostMapping
@@ -44,6 +110,42 @@ public class ItemController {
         return status(HttpStatus.CREATED).body(itemService.save(item));
     }
 
+    /**
+     * Creates many items at once from a JSON array or an NDJSON stream. Every element is validated on its own;
+     * rejected elements are listed in the response and do not stop the valid ones from being inserted.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BulkImportResult> createItems(InputStream body) throws IOException {
+        BulkImportResult result = itemImportService.importItems(body);
+        return result.created() == 0 && !result.errors().isEmpty()
+                ? badRequest().body(result)
+                : status(HttpStatus.CREATED).body(result);
+    }
+
+    /**
+     * Writes the whole item table to the configured snapshot file, which a restart can reload in one pass.
+     */
+    @PostMapping("/snapshot")
+    public ResponseEntity<SnapshotResult> writeSnapshot() throws IOException {
+        return ok(itemSnapshotService.writeSnapshot());
+    }
+
+    /**
+     * Returns item counts grouped by status, computed by the database with a single query.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ItemStats> getStats() {
+        return ok(itemService.stats());
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the item cache, to size it from real traffic.
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ItemCacheStats> getCacheStats() {
+        return ok(itemService.cacheStats());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Item> getItemById(@PathVariable Long id) {
         return itemService.findById(id)
@@ -51,35 +153,58 @@ public class ItemController {
                 .orElse(notFound().build());
     }
 
+    /**
+     * Replaces an item with one conditional UPDATE. If the body carries the item's version, the update is
+     * rejected with 409 when the stored version differs.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<Item> updateItem(@PathVariable Long id, @Valid @RequestBody Item item) {
-        return itemService.findById(id)
-                .map(existingItem -> {
-                    item.setId(id);
-                    return ok(itemService.save(item));
-                })
-                .orElse(notFound().build());
+        try {
+            return itemService.update(id, item)
+                    .map(ResponseEntity::ok)
+                    .orElse(notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            return status(HttpStatus.CONFLICT).build();
+        }
     }
 
+    /**
+     * Deletes an item with one DELETE statement. If {@code version} is given, the delete is rejected with 409
+     * when the stored version differs.
+     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
-        if (itemService.findById(id).isEmpty()) {
-            return notFound().build();
+    public ResponseEntity<Void> deleteItem(@PathVariable Long id, @RequestParam(required = false) Long version) {
+        try {
+            return itemService.deleteById(id, version)
+                    ? ok().build()
+                    : notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return status(HttpStatus.CONFLICT).build();
         }
-        itemService.deleteById(id);
-        return ok().build();
     }
 
     /**
-     * Process items asynchronously and return them once processing is done.
+     * Process items asynchronously and return the processed items, the failed ones with their reasons and the
+     * run's timing once processing is done. Responds 503 with the same body when the run's circuit breaker stopped it.
      * Uses DeferredResult to allow non-blocking request handling.
+     *
+     * <p>If the run outlasts {@code item.processing.request-timeout} the request ends with 503, and if the client
+     * disconnects first the request ends too. Either way the request leaves the run, and once no request is waiting
+     * for it the run is cancelled, so its queued items are skipped. Concurrent requests share one run.</p>
      */
     @GetMapping("/process")
-    public DeferredResult<ResponseEntity<List<Item>>> processItems() {
-        DeferredResult<ResponseEntity<List<Item>>> result = new DeferredResult<>();
+    public DeferredResult<ResponseEntity<ProcessingResult>> processItems() {
+        DeferredResult<ResponseEntity<ProcessingResult>> result =
+                new DeferredResult<>(processingProperties.getRequestTimeout().toMillis());
 
-        itemService.processItemsAsync()
-                .thenAccept(items -> result.setResult(ok(items)))
+        CompletableFuture<ProcessingResult> run = itemService.processItemsAsync();
+        result.onTimeout(() -> result.setErrorResult(status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+        // Runs once the request has ended for any reason: answered, timed out or dropped by the client.
+        // Cancelling only detaches this request from a shared run, and does nothing once the run has completed
+        result.onCompletion(() -> run.cancel(false));
+        run.thenAccept(outcome -> result.setResult(outcome.circuitOpen()
+                        ? status(HttpStatus.SERVICE_UNAVAILABLE).body(outcome)
+                        : ok(outcome)))
                 .exceptionally(ex -> {
                     result.setResult(status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                     return null;
@@ -87,4 +212,92 @@ public class ItemController {
 
         return result;
     }
+
+    /**
+     * Process items asynchronously and stream each one as a Server-Sent Event named "item" as soon as it is saved.
+     * The stream ends with a "summary" event carrying the processed and failed counts. If the client goes away,
+     * the run is cancelled: items that have not started yet are skipped.
+     */
+    @GetMapping(value = "/process/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter processItemsStream() {
+        // No timeout: the stream stays open for as long as the run takes
+        SseEmitter emitter = new SseEmitter(0L);
+        EventStream events = new EventStream(emitter);
+
+        CompletableFuture<ProcessingSummary> run =
+                itemService.processItemsStreaming(item -> events.send("item", item));
+        // Runs once the stream has ended for any reason; does nothing once the run has completed
+        emitter.onCompletion(() -> run.cancel(false));
+        emitter.onTimeout(() -> {
+            events.close();
+            run.cancel(false);
+        });
+        emitter.onError(e -> {
+            events.close();
+            run.cancel(false);
+        });
+        run.whenComplete((summary, ex) -> {
+            if (ex != null) {
+                events.completeWithError(ex);
+            } else {
+                events.send("summary", summary);
+                events.complete();
+            }
+        });
+
+        return emitter;
+    }
+
+    /**
+     * Sends the events of one stream. Items are reported from the worker threads: every send and the completion
+     * hold the emitter's monitor, so events are written whole and the summary comes after the last item. Once the
+     * stream has failed or ended, further events are dropped without waiting for the monitor.
+     */
+    private static final class EventStream {
+        private final SseEmitter emitter;
+        private volatile boolean closed;
+
+        EventStream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(String name, Object data) {
+            if (closed) {
+                return;
+            }
+            synchronized (emitter) {
+                if (closed) {
+                    return;
+                }
+                try {
+                    emitter.send(SseEmitter.event().name(name).data(data));
+                } catch (IOException | IllegalStateException e) {
+                    // The client has gone away; the container reports it through onError, which cancels the run
+                    closed = true;
+                }
+            }
+        }
+
+        void complete() {
+            synchronized (emitter) {
+                if (!closed) {
+                    closed = true;
+                    emitter.complete();
+                }
+            }
+        }
+
+        void completeWithError(Throwable error) {
+            synchronized (emitter) {
+                if (!closed) {
+                    closed = true;
+                    emitter.completeWithError(error);
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+        }
+    }
 }
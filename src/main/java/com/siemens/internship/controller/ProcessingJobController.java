@@ -0,0 +1,66 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.ProcessingJobStatus;
+import com.siemens.internship.service.ProcessingJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import static org.springframework.http.ResponseEntity.*;
+
+/**
+ * Job API for item processing: submit a run, poll its progress, cancel it.
+ */
+@RestController
+@RequestMapping("/api/items/process/jobs")
+public class ProcessingJobController {
+
+    private final ProcessingJobService processingJobService;
+
+    @Autowired
+    public ProcessingJobController(ProcessingJobService processingJobService) {
+        this.processingJobService = processingJobService;
+    }
+
+    /**
+     * Starts a processing job and returns immediately with 202 and the job's location. While a job runs, its
+     * status and location are returned instead; while a cancelled job is still stopping, the response is 409.
+     */
+    @PostMapping
+    public ResponseEntity<ProcessingJobStatus> startJob(UriComponentsBuilder uriBuilder) {
+        ProcessingJobStatus status;
+        try {
+            status = processingJobService.start();
+        } catch (IllegalStateException e) {
+            return status(HttpStatus.CONFLICT).build();
+        }
+        return accepted()
+                .location(uriBuilder.path("/api/items/process/jobs/{id}").buildAndExpand(status.id()).toUri())
+                .body(status);
+    }
+
+    /**
+     * Reports total, done and failed counts, throughput and an ETA for a job.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ProcessingJobStatus> getJob(@PathVariable String id) {
+        return processingJobService.status(id)
+                .map(ResponseEntity::ok)
+                .orElse(notFound().build());
+    }
+
+    /**
+     * Cancels a job with 202. Queued items are skipped; the job reaches the CANCELLED state once running items
+     * finish. A job that has already finished is returned unchanged with 200.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ProcessingJobStatus> cancelJob(@PathVariable String id) {
+        return processingJobService.cancel(id)
+                .map(status -> status.state() == ProcessingJobStatus.State.RUNNING
+                        ? accepted().body(status)
+                        : ok(status))
+                .orElse(notFound().build());
+    }
+}
@@ -0,0 +1,21 @@
+package com.siemens.internship.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param created number of items inserted
+ * @param errors  elements that were rejected, each with its position in the request
+ */
+public record BulkImportResult(long created, List<Error> errors) {
+
+    /**
+     * A rejected element.
+     *
+     * @param index    zero-based position of the element in the request
+     * @param messages why the element was rejected
+     */
+    public record Error(long index, List<String> messages) {
+    }
+}
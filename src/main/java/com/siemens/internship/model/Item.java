@@ -1,28 +1,69 @@
 package com.siemens.internship.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.siemens.internship.validation.ValidEmail;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
-import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.*;
 
+import java.time.Instant;
+
 @Entity
+// Incremental processing and status filters look items up by status, then page through them by id
+@Table(indexes = @Index(name = "idx_item_status", columnList = "status, id"))
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class Item {
+
+    // Ids handed out per round trip to item_seq
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // Pooled sequence: one round trip hands out 50 ids, so batched inserts do not fetch ids one by one
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     private String name;
     private String description;
     private String status;
 
-    // Add email regex validation
-    @Email(message = "Email is not valid", regexp = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$")
+    // Single-pass email check, same language as @Email(regexp = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$")
+    @ValidEmail
     @NotEmpty(message = "Email cannot be empty")
     private String email;
-}
\ No newline at end of file
+
+    // Incremented by every write; a PUT or DELETE carrying a stale version is rejected
+    @Version
+    private Long version;
+
+    // Instance that claimed the item in LEASED processing mode, and until when; another instance may take the item
+    // over once the lease has expired. Internal bookkeeping, written without bumping the version
+    @JsonIgnore
+    private String leaseOwner;
+    @JsonIgnore
+    private Instant leaseExpiresAt;
+    // Unique per claim, so an instance reads back exactly the rows its claim took
+    @JsonIgnore
+    private String leaseToken;
+
+    public Item(Long id, String name, String description, String status, String email) {
+        this(id, name, description, status, email, null);
+    }
+
+    public Item(Long id, String name, String description, String status, String email, Long version) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.email = email;
+        this.version = version;
+    }
+}
@@ -0,0 +1,13 @@
+package com.siemens.internship.model;
+
+/**
+ * Counters of the item cache since startup.
+ *
+ * @param hits      lookups answered from the cache
+ * @param misses    lookups that went to the database
+ * @param evictions entries removed because of the size or time limit
+ * @param hitRate   hits divided by all lookups, 1.0 when there were none
+ * @param size      approximate number of cached entries
+ */
+public record ItemCacheStats(long hits, long misses, long evictions, double hitRate, long size) {
+}
@@ -0,0 +1,60 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One entry of the item change feed: which item changed, how, and in which order.
+ */
+@Entity
+// Retention compaction looks entries up by age
+@Table(indexes = @Index(name = "idx_item_change_changed_at", columnList = "changedAt"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemChange {
+
+    // Sequence numbers handed out per round trip to item_change_seq
+    public static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    @Id
+    // Pooled like item ids, so a chunk's status changes are inserted as one JDBC batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_change_seq")
+    @SequenceGenerator(name = "item_change_seq", sequenceName = "item_change_seq",
+            allocationSize = SEQUENCE_ALLOCATION_SIZE)
+    private Long sequence;
+
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    // Status of the item after the change; null for deletions
+    private String status;
+
+    private Instant changedAt;
+
+    public ItemChange(Long itemId, Type type, String status, Instant changedAt) {
+        this(null, itemId, type, status, changedAt);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /** Status set by a processing run, without touching the other fields. */
+        STATUS_CHANGED
+    }
+}
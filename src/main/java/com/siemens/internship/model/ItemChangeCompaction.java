@@ -0,0 +1,30 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Watermark of the item change feed's compaction: every change up to and including {@code compactedThrough} may
+ * have been deleted. The table holds a single row.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemChangeCompaction {
+
+    // Id of the only row
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    private Long compactedThrough;
+
+    private Instant compactedAt;
+}
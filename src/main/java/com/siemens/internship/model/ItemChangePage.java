@@ -0,0 +1,14 @@
+package com.siemens.internship.model;
+
+import java.util.List;
+
+/**
+ * Changes of the item change feed, in sequence order.
+ *
+ * @param changes the changes after the requested sequence number, possibly none
+ * @param next    sequence number to pass as {@code since} to fetch the following changes
+ * @param expired true if changes after the requested sequence number were dropped by retention; the consumer has
+ *                to reload the items, then follow the feed from {@code next}
+ */
+public record ItemChangePage(List<ItemChange> changes, long next, boolean expired) {
+}
@@ -0,0 +1,12 @@
+package com.siemens.internship.model;
+
+import java.util.List;
+
+/**
+ * One page of items in id order.
+ *
+ * @param items the items of this page
+ * @param next  cursor to pass as {@code after} to fetch the following page, or null on the last page
+ */
+public record ItemPage(List<Item> items, Long next) {
+}
@@ -0,0 +1,19 @@
+package com.siemens.internship.model;
+
+import java.util.List;
+
+/**
+ * Item counts computed by the database.
+ *
+ * @param total    number of items
+ * @param byStatus number of items per status; items without a status are counted under a null status
+ */
+public record ItemStats(long total, List<StatusCount> byStatus) {
+
+    /**
+     * @param status the status value, or null
+     * @param count  number of items with this status
+     */
+    public record StatusCount(String status, long count) {
+    }
+}
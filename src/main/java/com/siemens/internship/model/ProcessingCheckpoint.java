@@ -0,0 +1,27 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Watermark of an incremental processing run, saved after every chunk so an interrupted run resumes where it stopped.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessingCheckpoint {
+    @Id
+    private String name;
+
+    // Every unprocessed item up to and including this id has been processed by the current run
+    private Long lastProcessedId;
+
+    private Instant runStartedAt;
+    private Instant updatedAt;
+}
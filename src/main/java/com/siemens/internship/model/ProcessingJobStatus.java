@@ -0,0 +1,33 @@
+package com.siemens.internship.model;
+
+import java.time.Instant;
+
+/**
+ * Progress report of a background processing job.
+ *
+ * @param id                   job id
+ * @param state                lifecycle state of the job
+ * @param total                number of items the job will visit, or -1 until it is known
+ * @param done                 number of items processed so far
+ * @param failed               number of items that failed so far
+ * @param skipped              number of items skipped because the job was cancelled
+ * @param itemsPerSecond       measured throughput since the job started
+ * @param etaSeconds           estimated seconds until completion at the measured rate, or null if unknown
+ * @param startedAt            when the job was submitted
+ * @param finishedAt           when the job ended, or null while it runs
+ */
+public record ProcessingJobStatus(String id,
+                                  State state,
+                                  long total,
+                                  long done,
+                                  long failed,
+                                  long skipped,
+                                  double itemsPerSecond,
+                                  Long etaSeconds,
+                                  Instant startedAt,
+                                  Instant finishedAt) {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+}
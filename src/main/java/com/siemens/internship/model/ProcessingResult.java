@@ -0,0 +1,32 @@
+package com.siemens.internship.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outcome of a processing run started with {@code GET /api/items/process}. Items that failed do not hide
+ * the ones that succeeded.
+ *
+ * @param processed      items processed and saved
+ * @param failed         items that still failed after their last attempt
+ * @param skipped        number of items never started, because the run was cancelled or its circuit breaker opened
+ * @param circuitOpen    whether the run stopped scheduling items because too many of them failed
+ * @param startedAt      when the run started
+ * @param durationMillis how long the run took
+ */
+public record ProcessingResult(List<Item> processed,
+                               List<Failure> failed,
+                               long skipped,
+                               boolean circuitOpen,
+                               Instant startedAt,
+                               long durationMillis) {
+
+    /**
+     * An item that could not be processed.
+     *
+     * @param id     ID of the item
+     * @param reason why its last attempt failed
+     */
+    public record Failure(long id, String reason) {
+    }
+}
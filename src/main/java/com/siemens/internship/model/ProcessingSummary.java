@@ -0,0 +1,11 @@
+package com.siemens.internship.model;
+
+/**
+ * Totals reported at the end of a streamed processing run.
+ *
+ * @param processed number of items processed and saved
+ * @param failed    number of items whose processing threw an exception
+ * @param skipped   number of items never started because the run was cancelled
+ */
+public record ProcessingSummary(long processed, long failed, long skipped) {
+}
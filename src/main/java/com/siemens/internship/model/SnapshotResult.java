@@ -0,0 +1,11 @@
+package com.siemens.internship.model;
+
+/**
+ * Outcome of writing or restoring an item snapshot.
+ *
+ * @param items number of items in the snapshot
+ * @param bytes size of the snapshot file
+ * @param path  location of the snapshot file
+ */
+public record SnapshotResult(long items, long bytes, String path) {
+}
@@ -0,0 +1,9 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ItemChangeCompaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ItemChangeCompactionRepository extends JpaRepository<ItemChangeCompaction, Long> {
+}
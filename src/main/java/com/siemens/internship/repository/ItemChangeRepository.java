@@ -0,0 +1,44 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ItemChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ItemChangeRepository extends JpaRepository<ItemChange, Long> {
+
+    /**
+     * Loads the next changes in sequence order, starting after the given sequence number.
+     */
+    List<ItemChange> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Limit limit);
+
+    /**
+     * @return the highest sequence number written so far, or null if the feed is empty
+     */
+    @Query("SELECT MAX(c.sequence) FROM ItemChange c")
+    Long findLastSequence();
+
+    /**
+     * @return the highest sequence number of the changes made before {@code cutoff}, or null if there are none
+     */
+    @Query("SELECT MAX(c.sequence) FROM ItemChange c WHERE c.changedAt < :cutoff")
+    Long findLastSequenceBefore(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Deletes every change up to and including the given sequence number with one statement.
+     *
+     * @return number of changes deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ItemChange c WHERE c.sequence <= :sequence")
+    int deleteUpTo(@Param("sequence") Long sequence);
+}
@@ -1,14 +1,273 @@
 package com.siemens.internship.repository;
 
 import com.siemens.internship.model.Item;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    @Query("SELECT id FROM Item")
-    List<Long> findAllIds();
+    /**
+     * Rows fetched from the database per round trip by {@link #streamAllByOrderByIdAsc()}.
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Loads the next range of item ids in id order, starting after the given id, without loading any entity.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id > :after ORDER BY i.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Counts the items after the given id, without loading them.
+     */
+    long countByIdGreaterThan(Long id);
+
+    /**
+     * Loads the next chunk of items in id order, starting after the given id (keyset range scan).
+     */
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Loads the next chunk of items with the given status in id order, starting after the given id.
+     * Served by the (status, id) index.
+     */
+    List<Item> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long id, Limit limit);
+
+    /**
+     * Counts items per status with a single GROUP BY, without loading any entity.
+     */
+    @Query("SELECT i.status AS status, COUNT(i) AS count FROM Item i GROUP BY i.status")
+    List<StatusCount> countGroupedByStatus();
+
+    /**
+     * Row of {@link #countGroupedByStatus()}.
+     */
+    interface StatusCount {
+        String getStatus();
+
+        long getCount();
+    }
+
+    /**
+     * Sets the status of all given items with a single bulk UPDATE statement.
+     *
+     * @return number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.status = :status, i.version = COALESCE(i.version, 0) + 1 WHERE i.id IN :ids")
+    int updateStatusByIdIn(@Param("status") String status, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns which of the given ids still exist, without loading the items.
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Sets the status of one item without touching its other columns. An item that already has the status is left
+     * as it is, so repeating the write neither bumps its version again nor counts as a change.
+     *
+     * @return 1 if the status was changed, 0 if the item does not exist or already has the status
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.status = :status, i.version = COALESCE(i.version, 0) + 1 "
+            + "WHERE i.id = :id AND (i.status IS NULL OR i.status <> :status)")
+    int updateStatusById(@Param("id") Long id, @Param("status") String status);
+
+    /**
+     * Overwrites the fields of the item with the same id in one statement, whatever its current version.
+     *
+     * @return 1 if the item exists, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.name = :#{#item.name}, i.description = :#{#item.description}, "
+            + "i.status = :#{#item.status}, i.email = :#{#item.email}, i.version = COALESCE(i.version, 0) + 1 "
+            + "WHERE i.id = :#{#item.id}")
+    int updateFields(@Param("item") Item item);
+
+    /**
+     * Overwrites the fields of the item with the same id in one statement, only if its version still matches.
+     *
+     * @return 1 if updated, 0 if the item does not exist or has a different version
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.name = :#{#item.name}, i.description = :#{#item.description}, "
+            + "i.status = :#{#item.status}, i.email = :#{#item.email}, i.version = COALESCE(i.version, 0) + 1 "
+            + "WHERE i.id = :#{#item.id} AND i.version = :#{#item.version}")
+    int updateFieldsIfVersion(@Param("item") Item item);
+
+    /**
+     * Deletes an item with one statement, without loading it first.
+     *
+     * @return 1 if deleted, 0 if the item does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Item i WHERE i.id = :id")
+    int deleteItemById(@Param("id") Long id);
+
+    /**
+     * Deletes an item with one statement, only if its version still matches.
+     *
+     * @return 1 if deleted, 0 if the item does not exist or has a different version
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Item i WHERE i.id = :id AND i.version = :version")
+    int deleteItemByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Streams every item in id order through a forward-only cursor. Entities are loaded read-only and
+     * {@value #STREAM_FETCH_SIZE} rows at a time; the caller must consume the stream inside a transaction
+     * and detach what it has written so the persistence context does not grow.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT i FROM Item i ORDER BY i.id")
+    Stream<Item> streamAllByOrderByIdAsc();
+
+    /**
+     * Loads the next chunk of items that do not have the given status yet, in id order after the given id.
+     * A {@code status <> :status} predicate would scan every row with the given status, so each other status, and
+     * then the items without one, is read with its own seek on the (status, id) index; the chunks are merged by id.
+     */
+    @Transactional(readOnly = true)
+    default List<Item> findByStatusNotAfter(String status, Long after, Limit limit) {
+        List<Item> chunk = new ArrayList<>(findByStatusIsNullAndIdGreaterThanOrderByIdAsc(after, limit));
+        for (String other : findStatusesOtherThan(status)) {
+            chunk.addAll(findByStatusAndIdGreaterThanOrderByIdAsc(other, after, limit));
+        }
+        chunk.sort(Comparator.comparing(Item::getId));
+        if (limit.isLimited() && chunk.size() > limit.max()) {
+            return new ArrayList<>(chunk.subList(0, limit.max()));
+        }
+        return chunk;
+    }
+
+    /**
+     * Counts the items that do not have the given status yet, with one index range count per other status.
+     */
+    @Transactional(readOnly = true)
+    default long countByStatusNot(String status) {
+        long count = countByStatusIsNull();
+        for (String other : findStatusesOtherThan(status)) {
+            count += countByStatus(other);
+        }
+        return count;
+    }
+
+    /**
+     * Lists the statuses in use other than the given one, hopping from one status to the next on the
+     * (status, id) index instead of reading every row.
+     */
+    @Transactional(readOnly = true)
+    default List<String> findStatusesOtherThan(String status) {
+        List<String> statuses = new ArrayList<>();
+        for (String next = findFirstStatus(); next != null; next = findNextStatus(next)) {
+            if (!next.equals(status)) {
+                statuses.add(next);
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Returns the lowest status in use, or null if no item has one. Served by the (status, id) index.
+     */
+    @Query("SELECT MIN(i.status) FROM Item i")
+    String findFirstStatus();
+
+    /**
+     * Returns the lowest status in use after the given one, or null if there is none. Served by the
+     * (status, id) index.
+     */
+    @Query("SELECT MIN(i.status) FROM Item i WHERE i.status > :after")
+    String findNextStatus(@Param("after") String after);
+
+    /**
+     * Loads the next chunk of items without a status in id order, starting after the given id.
+     * Served by the (status, id) index.
+     */
+    List<Item> findByStatusIsNullAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    long countByStatusIsNull();
+
+    long countByStatus(String status);
+
+    /**
+     * Returns the ids of the next items that are neither processed nor under an unexpired lease, in id order.
+     */
+    @Query("SELECT i.id FROM Item i WHERE (i.status IS NULL OR i.status <> :status) "
+            + "AND (i.leaseExpiresAt IS NULL OR i.leaseExpiresAt < :now) ORDER BY i.id")
+    List<Long> findClaimableIds(@Param("status") String status, @Param("now") Instant now, Limit limit);
+
+    /**
+     * Leases those of the given items that are still claimable to {@code owner}, with one conditional UPDATE.
+     * The condition is checked again on every row the statement locks, so an item claimed by a concurrent
+     * instance in the meantime is skipped instead of being claimed twice. Every claimed row is stamped with
+     * {@code token}, unique to this claim, so {@link #findLeased} reads back exactly the rows this statement
+     * changed. The version is left untouched.
+     *
+     * @return number of items claimed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.leaseOwner = :owner, i.leaseExpiresAt = :expiresAt, i.leaseToken = :token "
+            + "WHERE i.id IN :ids AND (i.status IS NULL OR i.status <> :status) "
+            + "AND (i.leaseExpiresAt IS NULL OR i.leaseExpiresAt < :now)")
+    int claimLeases(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                    @Param("owner") String owner, @Param("token") String token,
+                    @Param("expiresAt") Instant expiresAt, @Param("now") Instant now);
+
+    /**
+     * Loads the items claimed by the {@link #claimLeases} call that used {@code token}, in id order.
+     */
+    @Query("SELECT i FROM Item i WHERE i.leaseToken = :token ORDER BY i.id")
+    List<Item> findLeased(@Param("token") String token);
+
+    /**
+     * Sets the status of those of the given items still leased to {@code owner} and releases their lease,
+     * with a single bulk UPDATE. Items taken over by another instance after the lease expired are left alone.
+     *
+     * @return number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.status = :status, i.version = COALESCE(i.version, 0) + 1, i.leaseOwner = NULL, "
+            + "i.leaseExpiresAt = NULL, i.leaseToken = NULL WHERE i.id IN :ids AND i.leaseOwner = :owner")
+    int updateStatusAndReleaseLeases(@Param("status") String status, @Param("ids") Collection<Long> ids,
+                                     @Param("owner") String owner);
+
+    /**
+     * Releases the leases {@code owner} holds on the given items, so another instance can claim them at once.
+     *
+     * @return number of leases released
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.leaseOwner = NULL, i.leaseExpiresAt = NULL, i.leaseToken = NULL "
+            + "WHERE i.id IN :ids AND i.leaseOwner = :owner")
+    int releaseLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
 }
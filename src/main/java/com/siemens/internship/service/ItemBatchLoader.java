@@ -0,0 +1,177 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemLoaderProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent lookups by id into batches resolved with one {@code findAllById} query each. Callers queue
+ * their id and a single dispatcher thread closes a batch once it holds {@code item.loader.max-batch-size} distinct
+ * ids or its first lookup has waited {@code item.loader.window}. The dispatcher only coalesces: it hands every
+ * batch to the processing executor for its query, so a slow query does not hold back the batches after it. Every
+ * caller gets its own result; ids looked up twice in one batch are queried once.
+ *
+ * <p>At most {@code item.loader.capacity} lookups wait for their batch; beyond that, {@link #load} blocks the
+ * calling thread until the dispatcher catches up.</p>
+ *
+ * <p>Batch sizes are recorded as {@code item.lookup.batch.size} and the time every lookup waited for its batch to
+ * be sent as {@code item.lookup.wait}. With {@code item.loader.enabled=false} every lookup queries on its own.</p>
+ */
+@Component
+public class ItemBatchLoader implements AutoCloseable {
+
+    // How often an idle dispatcher checks whether the loader was closed
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final BlockingQueue<PendingLookup> queue;
+    private final Executor executor;
+    private final DistributionSummary batchSizes;
+    private final Timer waitTimer;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    // The batch queries run on the shared processing executor (see ProcessingExecutorConfig)
+    public ItemBatchLoader(ItemRepository itemRepository,
+                           ItemLoaderProperties loaderProperties,
+                           MeterRegistry registry,
+                           @Qualifier("itemProcessingExecutor") Executor executor) {
+        this.itemRepository = itemRepository;
+        this.enabled = loaderProperties.isEnabled();
+        this.maxBatchSize = Math.max(1, loaderProperties.getMaxBatchSize());
+        this.windowNanos = loaderProperties.getWindow().toNanos();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, loaderProperties.getCapacity()));
+        this.executor = executor;
+        this.batchSizes = DistributionSummary.builder("item.lookup.batch.size")
+                .description("Distinct ids resolved by one batched lookup query")
+                .register(registry);
+        this.waitTimer = Timer.builder("item.lookup.wait")
+                .description("Time a lookup by id waited for its batch to be sent")
+                .register(registry);
+        if (enabled) {
+            this.dispatcher = new Thread(this::runDispatcher, "item-batch-loader");
+            this.dispatcher.setDaemon(true);
+            this.dispatcher.start();
+        } else {
+            this.dispatcher = null;
+        }
+    }
+
+    /**
+     * Looks up an item by id, as part of the next batch, blocking while the queue is full.
+     *
+     * @param id ID of the item
+     * @return a future completed once the batch holding this lookup has been queried, with the item if found
+     * @throws IllegalStateException if the loader is closed
+     */
+    public CompletableFuture<Optional<Item>> load(Long id) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(itemRepository.findById(id));
+        }
+        if (closed) {
+            throw new IllegalStateException("Item batch loader is closed");
+        }
+        PendingLookup lookup = new PendingLookup(id, System.nanoTime(), new CompletableFuture<>());
+        try {
+            queue.put(lookup);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for room in the item batch loader", e);
+        }
+        return lookup.result();
+    }
+
+    /**
+     * Stops accepting lookups and sends the ones already queued.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        if (dispatcher != null) {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void runDispatcher() {
+        while (!closed || !queue.isEmpty()) {
+            List<PendingLookup> batch = new ArrayList<>();
+            Set<Long> ids = new LinkedHashSet<>();
+            try {
+                PendingLookup first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                ids.add(first.id());
+                // The window runs from the first lookup's arrival, not from when the dispatcher saw it
+                long deadline = first.queuedAt() + windowNanos;
+                while (ids.size() < maxBatchSize) {
+                    PendingLookup next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    ids.add(next.id());
+                }
+            } catch (InterruptedException e) {
+                // Only close() ends the dispatcher, so queued lookups are never dropped
+                Thread.interrupted();
+            }
+            if (!batch.isEmpty()) {
+                dispatch(batch, ids);
+            }
+        }
+    }
+
+    /**
+     * Hands a closed batch to the executor for its query.
+     */
+    private void dispatch(List<PendingLookup> batch, Set<Long> ids) {
+        long sentAt = System.nanoTime();
+        batch.forEach(lookup -> waitTimer.record(sentAt - lookup.queuedAt(), TimeUnit.NANOSECONDS));
+        batchSizes.record(ids.size());
+        try {
+            executor.execute(() -> query(batch, ids));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(lookup -> lookup.result().completeExceptionally(e));
+        }
+    }
+
+    private void query(List<PendingLookup> batch, Set<Long> ids) {
+        Map<Long, Item> found;
+        try {
+            found = itemRepository.findAllById(List.copyOf(ids)).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+        } catch (RuntimeException e) {
+            batch.forEach(lookup -> lookup.result().completeExceptionally(e));
+            return;
+        }
+        batch.forEach(lookup -> lookup.result().complete(Optional.ofNullable(found.get(lookup.id()))));
+    }
+
+    private record PendingLookup(Long id, long queuedAt, CompletableFuture<Optional<Item>> result) {
+    }
+}
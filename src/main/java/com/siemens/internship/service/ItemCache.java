@@ -0,0 +1,94 @@
+package com.siemens.internship.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.siemens.internship.config.ItemCacheProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemCacheStats;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of items by id, kept in sync by {@link ItemService} on every write.
+ *
+ * <p>A load in flight is cached as a pending entry that concurrent lookups of the same id wait on. A write or
+ * invalidation that lands meanwhile replaces or drops that entry, so it always wins over the value being loaded.
+ * Loads do not run under the cache's locks, so a slow or batched load only holds up lookups of its own id.
+ * Missing ids are not cached.</p>
+ */
+@Component
+public class ItemCache {
+
+    private final boolean enabled;
+    private final AsyncCache<Long, Item> cache;
+
+    public ItemCache(ItemCacheProperties cacheProperties) {
+        this.enabled = cacheProperties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaxSize())
+                .expireAfterWrite(cacheProperties.getTtl())
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached item, or loads it with {@code loader} and caches it if it exists.
+     *
+     * @param id     ID of the item
+     * @param loader database lookup used on a miss
+     * @return Optional containing the item if found, empty otherwise
+     */
+    public Optional<Item> get(Long id, Function<Long, CompletableFuture<Optional<Item>>> loader) {
+        CompletableFuture<Optional<Item>> item = enabled
+                ? cache.get(id, (key, executor) -> loader.apply(key).thenApply(found -> found.orElse(null)))
+                        .thenApply(Optional::ofNullable)
+                : loader.apply(id);
+        try {
+            return item.join();
+        } catch (CompletionException e) {
+            // Rethrow what the loader threw, as a synchronous lookup would have
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stores the item as just written to the database.
+     */
+    public void put(Item item) {
+        if (enabled && item.getId() != null) {
+            cache.put(item.getId(), CompletableFuture.completedFuture(item));
+        }
+    }
+
+    /**
+     * Drops the item with the given id, e.g. after it was deleted or changed by a bulk statement.
+     */
+    public void invalidate(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Drops all items with the given ids.
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        cache.synchronous().invalidateAll(ids);
+    }
+
+    /**
+     * @return hit, miss and eviction counters since startup
+     */
+    public ItemCacheStats stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new ItemCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate(),
+                cache.synchronous().estimatedSize());
+    }
+}
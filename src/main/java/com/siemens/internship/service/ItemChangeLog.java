@@ -0,0 +1,262 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemChangeProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemChange;
+import com.siemens.internship.model.ItemChangeCompaction;
+import com.siemens.internship.model.ItemChangePage;
+import com.siemens.internship.repository.ItemChangeCompactionRepository;
+import com.siemens.internship.repository.ItemChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Change feed of the item table. Every create, update, delete and processing status change is recorded as an
+ * {@link ItemChange} with a sequence number, in the transaction of the change itself, so consumers can follow the
+ * table instead of reading all of it again. An entry only says that an item changed; consumers fetch the item for
+ * its current state.
+ *
+ * <p>Callers record a change inside the transaction that makes it: the entry commits or rolls back with the item.
+ * Transactions commit in any order, so an entry can become visible before one with a lower sequence number. A page
+ * therefore stops before the oldest entry still uncommitted on this instance, and a consumer resuming after the
+ * last number it read never skips an entry written through the same instance. Instances sharing one database draw
+ * numbers from their own pooled blocks and do not see each other's uncommitted entries.</p>
+ *
+ * <p>Changes older than {@code item.changes.retention} are compacted away; a consumer asking for changes after a
+ * compacted one is told to reload the items instead.</p>
+ */
+@Slf4j
+@Component
+public class ItemChangeLog {
+
+    private final ItemChangeRepository changeRepository;
+    private final ItemChangeCompactionRepository compactionRepository;
+    private final ItemChangeProperties changeProperties;
+    private final Executor executor;
+    private final Clock clock = Clock.systemUTC();
+    // Sequence numbers of the entries whose transaction has not completed yet, see UncommittedChanges
+    private final UncommittedChanges uncommitted = new UncommittedChanges();
+    private final Object writeLock = new Object();
+    // Completed and replaced after every committed write, to wake up the requests waiting for a change.
+    // Replaced under writeLock
+    private volatile CompletableFuture<Void> nextWrite = new CompletableFuture<>();
+
+    // The executor re-reads the feed for the requests woken by a write; it is a small one of its own, apart from
+    // the processing executor (see ProcessingExecutorConfig)
+    public ItemChangeLog(ItemChangeRepository changeRepository,
+                         ItemChangeCompactionRepository compactionRepository,
+                         ItemChangeProperties changeProperties,
+                         @Qualifier("itemChangeFeedExecutor") Executor executor) {
+        this.changeRepository = changeRepository;
+        this.compactionRepository = compactionRepository;
+        this.changeProperties = changeProperties;
+        this.executor = executor;
+    }
+
+    public void created(Item item) {
+        record(List.of(new ItemChange(item.getId(), ItemChange.Type.CREATED, item.getStatus(), clock.instant())));
+    }
+
+    public void created(Collection<Item> items) {
+        Instant now = clock.instant();
+        record(items.stream()
+                .map(item -> new ItemChange(item.getId(), ItemChange.Type.CREATED, item.getStatus(), now))
+                .toList());
+    }
+
+    public void updated(Item item) {
+        record(List.of(new ItemChange(item.getId(), ItemChange.Type.UPDATED, item.getStatus(), clock.instant())));
+    }
+
+    public void updated(Collection<Item> items) {
+        Instant now = clock.instant();
+        record(items.stream()
+                .map(item -> new ItemChange(item.getId(), ItemChange.Type.UPDATED, item.getStatus(), now))
+                .toList());
+    }
+
+    public void deleted(Long id) {
+        record(List.of(new ItemChange(id, ItemChange.Type.DELETED, null, clock.instant())));
+    }
+
+    /**
+     * Records a status change of every given item, e.g. a chunk marked processed with one bulk UPDATE.
+     */
+    public void statusChanged(Collection<Long> ids, String status) {
+        Instant now = clock.instant();
+        record(ids.stream()
+                .map(id -> new ItemChange(id, ItemChange.Type.STATUS_CHANGED, status, now))
+                .toList());
+    }
+
+    /**
+     * Persists the entries in the caller's transaction, inserted with it as one JDBC batch, and wakes the waiting
+     * requests once it has completed. Without a transaction the entries are committed at once.
+     */
+    private void record(List<ItemChange> changes) {
+        if (!changeProperties.isEnabled() || changes.isEmpty()) {
+            return;
+        }
+        long floor = uncommitted.begin();
+        try {
+            changeRepository.saveAll(changes);
+        } catch (RuntimeException e) {
+            uncommitted.end(floor);
+            throw e;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            completed(floor, changes, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completed(floor, changes, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void completed(long floor, List<ItemChange> changes, boolean committed) {
+        uncommitted.end(floor, changes);
+        if (!committed) {
+            return;
+        }
+        CompletableFuture<Void> written;
+        synchronized (writeLock) {
+            written = nextWrite;
+            nextWrite = new CompletableFuture<>();
+        }
+        written.complete(null);
+    }
+
+    /**
+     * Returns the changes after the given sequence number without waiting.
+     *
+     * @param since sequence number of the last change the consumer has seen, 0 to start from the oldest one
+     * @param limit maximum number of changes returned
+     * @return the changes in sequence order, or an expired page if some of them were compacted away
+     */
+    public ItemChangePage changesSince(long since, int limit) {
+        UncommittedChanges.Snapshot beforeRead = uncommitted.snapshot();
+        List<ItemChange> changes = changeRepository.findBySequenceGreaterThanOrderBySequenceAsc(since,
+                Limit.of(limit));
+        // Stop before an entry that may still be followed by a lower, uncommitted one
+        long visibleThrough = uncommitted.visibleThrough(beforeRead);
+        changes = changes.stream().takeWhile(change -> change.getSequence() <= visibleThrough).toList();
+        // Read after the changes: compaction moves the watermark before deleting, so a page read after the
+        // delete always sees the new watermark
+        long compactedThrough = compactionRepository.findById(ItemChangeCompaction.ID)
+                .map(ItemChangeCompaction::getCompactedThrough)
+                .orElse(0L);
+        if (since < compactedThrough) {
+            Long last = changeRepository.findLastSequence();
+            return new ItemChangePage(List.of(), last == null ? compactedThrough : Math.max(last, compactedThrough),
+                    true);
+        }
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new ItemChangePage(changes, next, false);
+    }
+
+    /**
+     * Returns the changes after the given sequence number, waiting for the next write if there are none yet.
+     * The caller bounds the wait, by cancelling the returned future or giving up on it.
+     *
+     * @param since sequence number of the last change the consumer has seen, 0 to start from the oldest one
+     * @param limit maximum number of changes returned
+     * @return a future completed at once if changes are pending, otherwise once the next change is written
+     */
+    public CompletableFuture<ItemChangePage> awaitChangesSince(long since, int limit) {
+        // Taken before the read: a change committed after the read completes this future
+        CompletableFuture<Void> written = nextWrite;
+        ItemChangePage page = changesSince(since, limit);
+        if (!page.changes().isEmpty() || page.expired()) {
+            return CompletableFuture.completedFuture(page);
+        }
+        // Read again off the writer's thread, so a write does not pay for the queries of every waiting request
+        return written.thenApplyAsync(v -> changesSince(since, limit), executor);
+    }
+
+    /**
+     * Deletes the changes older than {@code item.changes.retention}. Does nothing while the feed is disabled.
+     */
+    @Scheduled(fixedDelayString = "${item.changes.compaction-interval:PT1H}")
+    public void compact() {
+        if (!changeProperties.isEnabled()) {
+            return;
+        }
+        Instant cutoff = clock.instant().minus(changeProperties.getRetention());
+        Long last = changeRepository.findLastSequenceBefore(cutoff);
+        if (last == null) {
+            return;
+        }
+        // Move the watermark first: a consumer reading in between is told to reload rather than missing changes
+        compactionRepository.save(new ItemChangeCompaction(ItemChangeCompaction.ID, last, clock.instant()));
+        int deleted = changeRepository.deleteUpTo(last);
+        log.info("Compacted {} item changes up to sequence {}", deleted, last);
+    }
+
+    /**
+     * Tracks the sequence numbers drawn on this instance whose transaction has not completed yet. A writer
+     * registers a floor before drawing its numbers: numbers are drawn in increasing order, so every number it
+     * draws is above the highest one known drawn when it registered. Guarded by its own monitor, held only
+     * for the bookkeeping and never during a query.
+     */
+    private static final class UncommittedChanges {
+        // Floor of every writer in flight, with the number of writers sharing it
+        private final TreeMap<Long, Integer> floors = new TreeMap<>();
+        private long lastDrawn;
+        private long started;
+
+        synchronized long begin() {
+            started++;
+            long floor = lastDrawn + 1;
+            floors.merge(floor, 1, Integer::sum);
+            return floor;
+        }
+
+        synchronized void end(long floor) {
+            floors.computeIfPresent(floor, (key, writers) -> writers == 1 ? null : writers - 1);
+        }
+
+        synchronized void end(long floor, List<ItemChange> changes) {
+            changes.stream()
+                    .map(ItemChange::getSequence)
+                    .filter(Objects::nonNull)
+                    .max(Long::compare)
+                    .ifPresent(sequence -> lastDrawn = Math.max(lastDrawn, sequence));
+            end(floor);
+        }
+
+        synchronized Snapshot snapshot() {
+            return new Snapshot(floors.isEmpty() ? Long.MAX_VALUE : floors.firstKey() - 1, lastDrawn, started);
+        }
+
+        /**
+         * Highest sequence number a query started after {@code before} may return. Writers in flight at the
+         * snapshot cap it below their floor; if writers started meanwhile, their numbers are above the last one
+         * drawn at the snapshot, so it is capped there too.
+         */
+        synchronized long visibleThrough(Snapshot before) {
+            return started == before.started()
+                    ? before.belowInFlight()
+                    : Math.min(before.belowInFlight(), before.lastDrawn());
+        }
+
+        private record Snapshot(long belowInFlight, long lastDrawn, long started) {
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.siemens.internship.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole item table to an output stream while holding only one fetch-sized batch of entities in memory.
+ */
+@Service
+public class ItemExportService {
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        /** One JSON object per line. */
+        NDJSON,
+        /** Comma-separated values with a header row (RFC 4180 quoting). */
+        CSV
+    }
+
+    private static final String CSV_HEADER = "id,name,description,status,email";
+
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter itemWriter;
+
+    public ItemExportService(ItemRepository itemRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        // Flushing after every item would turn each row into its own network write
+        this.itemWriter = objectMapper.writerFor(Item.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every item, in id order, to the given stream. The stream is flushed but not closed.
+     *
+     * @param format output format
+     * @param out    destination, typically the HTTP response body
+     * @return number of items written
+     * @throws IOException if writing to {@code out} fails
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        try (Stream<Item> items = itemRepository.streamAllByOrderByIdAsc()) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(items.iterator(), out);
+                case CSV -> writeCsv(items.iterator(), out);
+            };
+        }
+    }
+
+    private long writeNdjson(Iterator<Item> items, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = itemWriter.createGenerator(out)) {
+            // Leave the response stream open for the servlet container
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (items.hasNext()) {
+                Item item = items.next();
+                itemWriter.writeValue(generator, item);
+                generator.writeRaw('\n');
+                detachPeriodically(++count);
+            }
+            generator.flush();
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Item> items, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (items.hasNext()) {
+            Item item = items.next();
+            writer.write(String.valueOf(item.getId()));
+            writer.write(',');
+            writeCsvField(writer, item.getName());
+            writer.write(',');
+            writeCsvField(writer, item.getDescription());
+            writer.write(',');
+            writeCsvField(writer, item.getStatus());
+            writer.write(',');
+            writeCsvField(writer, item.getEmail());
+            writer.write("\r\n");
+            detachPeriodically(++count);
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Writes a field, quoting it only when it contains a separator, a quote or a line break.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Clears the persistence context once per fetched batch, so written entities can be garbage collected.
+     */
+    private void detachPeriodically(long written) {
+        if (written % ItemRepository.STREAM_FETCH_SIZE == 0) {
+            entityManager.clear();
+        }
+    }
+}
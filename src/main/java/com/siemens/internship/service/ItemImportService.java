@@ -0,0 +1,208 @@
+package com.siemens.internship.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.siemens.internship.config.ItemImportProperties;
+import com.siemens.internship.model.BulkImportResult;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inserts many items from one request, reading the body incrementally and writing valid items in batches.
+ */
+@Service
+public class ItemImportService {
+
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ItemImportProperties importProperties;
+    private final ObjectReader itemReader;
+    // Reads one NDJSON line, which must hold exactly one item
+    private final ObjectReader lineReader;
+    private final ItemChangeLog changeLog;
+    private final TransactionOperations transactionOperations;
+    private final ItemService itemService;
+
+    public ItemImportService(ItemRepository itemRepository,
+                             EntityManager entityManager,
+                             Validator validator,
+                             ItemImportProperties importProperties,
+                             ObjectMapper objectMapper,
+                             ItemChangeLog changeLog,
+                             TransactionOperations transactionOperations,
+                             ItemService itemService) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.importProperties = importProperties;
+        this.itemReader = objectMapper.readerFor(Item.class);
+        this.lineReader = itemReader.with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.changeLog = changeLog;
+        this.transactionOperations = transactionOperations;
+        this.itemService = itemService;
+    }
+
+    /**
+     * Reads items from either a JSON array or newline-delimited JSON objects, validates each one and inserts
+     * the valid ones. Invalid elements are reported and skipped; they do not abort the rest of the import.
+     * A malformed NDJSON line is rejected on its own and reading goes on with the next line. In an array, an
+     * element that does not map to an item is skipped, but malformed JSON stops reading; the items read before
+     * it are still inserted.
+     *
+     * @param body request body
+     * @return number of inserted items and the rejected elements
+     * @throws IOException if the body cannot be read
+     */
+    public BulkImportResult importItems(InputStream body) throws IOException {
+        Import run = new Import();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (startsWithArray(reader)) {
+            importArray(reader, run);
+        } else {
+            importLines(reader, run);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Reads the elements of a root-level array, which the iterator unwraps. After an element that cannot be
+     * mapped to an item the iterator skips to the next one; a syntax error leaves no next element to find.
+     */
+    private void importArray(Reader reader, Import run) throws IOException {
+        try (MappingIterator<Item> items = itemReader.readValues(reader)) {
+            while (items.hasNextValue()) {
+                Item item;
+                try {
+                    item = items.nextValue();
+                } catch (JsonParseException e) {
+                    run.reject(List.of("Malformed JSON: " + e.getOriginalMessage()));
+                    return;
+                } catch (JsonProcessingException e) {
+                    run.reject(List.of("Invalid item: " + e.getOriginalMessage()));
+                    continue;
+                }
+                run.add(item);
+            }
+        } catch (JsonProcessingException e) {
+            // Raised while looking for the next element
+            run.reject(List.of("Malformed JSON: " + e.getOriginalMessage()));
+        }
+    }
+
+    /**
+     * Reads one item per non-blank line, so a malformed line only loses that line.
+     */
+    private void importLines(BufferedReader reader, Import run) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Item item;
+            try {
+                item = lineReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.reject(List.of("Malformed JSON: " + e.getOriginalMessage()));
+                continue;
+            }
+            run.add(item);
+        }
+    }
+
+    /**
+     * Peeks at the first non-whitespace character without consuming it.
+     */
+    private static boolean startsWithArray(BufferedReader reader) throws IOException {
+        while (true) {
+            reader.mark(1);
+            int c = reader.read();
+            if (c == -1) {
+                return false;
+            }
+            if (!Character.isWhitespace(c)) {
+                reader.reset();
+                return c == '[';
+            }
+        }
+    }
+
+    /**
+     * Progress of one import: the pending batch, the inserted count and the rejected elements.
+     */
+    private final class Import {
+        private final List<Item> batch = new ArrayList<>(importProperties.getBatchSize());
+        private final List<BulkImportResult.Error> errors = new ArrayList<>();
+        private long created;
+        private long index;
+
+        void add(Item item) {
+            Set<ConstraintViolation<Item>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                reject(violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .toList());
+                return;
+            }
+            // Ids are always generated, a client-supplied id or version must not turn the insert into a merge
+            item.setId(null);
+            item.setVersion(null);
+            batch.add(item);
+            if (batch.size() == importProperties.getBatchSize()) {
+                created += insertBatch(batch);
+            }
+            index++;
+        }
+
+        void reject(List<String> messages) {
+            errors.add(new BulkImportResult.Error(index, messages));
+            index++;
+        }
+
+        BulkImportResult finish() {
+            if (!batch.isEmpty()) {
+                created += insertBatch(batch);
+            }
+            return new BulkImportResult(created, errors);
+        }
+    }
+
+    /**
+     * Inserts the batch and records the new items in the change feed in one transaction, tells a processing run in
+     * progress about them, then empties the batch. The inserted items are detached once written: with open-in-view
+     * the request's persistence context would otherwise keep every imported item until the request ends.
+     */
+    private int insertBatch(List<Item> batch) {
+        List<Item> saved = transactionOperations.execute(tx -> {
+            List<Item> inserted = itemRepository.saveAll(batch);
+            changeLog.created(inserted);
+            entityManager.flush();
+            entityManager.clear();
+            return inserted;
+        });
+        itemService.itemsCreated();
+        int size = saved.size();
+        batch.clear();
+        return size;
+    }
+}
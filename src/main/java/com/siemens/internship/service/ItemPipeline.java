@@ -0,0 +1,434 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs {@code PIPELINED} processing as three stages connected by bounded queues, each stage running as tasks on an
+ * executor:
+ *
+ * <ul>
+ *     <li>read: one task on the processing executor walks the table in id order, {@code read-batch-size} items per
+ *     query;</li>
+ *     <li>transform: up to {@code transform-concurrency} tasks on the transform executor pass every item through the
+ *     {@link ItemProcessor} steps;</li>
+ *     <li>write: up to {@code write-concurrency} tasks on the processing executor mark items processed, everything queued so far (up to
+ *     {@code write-batch-size}) in one transaction: items the processors left unchanged with one UPDATE, the others
+ *     with one UPDATE each that also writes the fields the processors changed.</li>
+ * </ul>
+ *
+ * <p>A full queue pauses the stage feeding it, so a slow stage holds the others back instead of letting items pile
+ * up. A paused or idle stage gives its executor threads back rather than blocking on a queue, so the stages never wait
+ * on each other for a thread. The stages scale independently: the transform stage has an executor of its own, outside
+ * the database-bound cap of the processing executor, and is sized for the latency of the processors, while the read
+ * and write stages only need a few database connections because they batch their work.</p>
+ */
+@Component
+public class ItemPipeline {
+
+    private static final String PROCESSED_STATUS = "PROCESSED";
+
+    private final ItemRepository itemRepository;
+    private final List<ItemProcessor> processors;
+    private final ItemCache itemCache;
+    private final ItemProcessingProperties processingProperties;
+    private final ItemProcessingMetrics processingMetrics;
+    private final ItemChangeLog changeLog;
+    private final TransactionOperations transactionOperations;
+    private final Executor executor;
+    private final Executor transformExecutor;
+
+    // The read and write stages run on the shared processing executor, within its concurrency cap; the transform
+    // stage runs on its own executor (see ProcessingExecutorConfig)
+    public ItemPipeline(ItemRepository itemRepository,
+                        List<ItemProcessor> processors,
+                        ItemCache itemCache,
+                        ItemProcessingProperties processingProperties,
+                        ItemProcessingMetrics processingMetrics,
+                        ItemChangeLog changeLog,
+                        TransactionOperations transactionOperations,
+                        @Qualifier("itemProcessingExecutor") Executor executor,
+                        @Qualifier("itemTransformExecutor") Executor transformExecutor) {
+        this.itemRepository = itemRepository;
+        this.processors = List.copyOf(processors);
+        this.itemCache = itemCache;
+        this.processingProperties = processingProperties;
+        this.processingMetrics = processingMetrics;
+        this.changeLog = changeLog;
+        this.transactionOperations = transactionOperations;
+        this.executor = executor;
+        this.transformExecutor = transformExecutor;
+    }
+
+    /**
+     * Processes every item on the processing and transform executors, reporting progress to {@code listener}. A failing item
+     * is reported and does not stop the others; a failing read ends the run. Once the listener cancels the run,
+     * nothing more is read and queued items are skipped, while items already transformed are still written.
+     *
+     * @param listener receives progress callbacks and can cancel the run
+     * @return A CompletableFuture that completes once the last item is written, or exceptionally if reading failed
+     */
+    public CompletableFuture<Void> run(ProcessingListener listener) {
+        return new Run(listener, processingProperties.getPipeline()).start();
+    }
+
+    /**
+     * Passes one item through every processor.
+     *
+     * @return the transformed item, or null if a processor dropped it
+     */
+    private Item applyProcessors(Item item) {
+        Item current = item;
+        try {
+            for (ItemProcessor processor : processors) {
+                current = processor.process(current);
+                if (current == null) {
+                    return null;
+                }
+            }
+            return current;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Processing interrupted", e);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to process item " + item.getId(), e);
+        }
+    }
+
+    /**
+     * Queues and stages of one pipeline run.
+     */
+    private final class Run {
+        private final ProcessingListener listener;
+        private final ItemProcessingProperties.PipelineProperties settings;
+        private final BlockingQueue<Item> toTransform;
+        private final BlockingQueue<Item> toWrite;
+        // Room in toWrite, reserved by a transformer before it takes an item, so a transformed item never waits
+        private final Semaphore writeSlots;
+        private final Stage reader;
+        private final Stage transformers;
+        private final Stage writers;
+        // Items read and not yet written, failed, dropped or skipped
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        // Items whose fields a processor changed, written in full instead of by the bulk status UPDATE
+        private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        // Confined to the reader, which never runs twice at once
+        private long afterId;
+        private volatile boolean readDone;
+
+        Run(ProcessingListener listener, ItemProcessingProperties.PipelineProperties settings) {
+            this.listener = listener;
+            this.settings = settings;
+            this.toTransform = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+            this.toWrite = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+            this.writeSlots = new Semaphore(settings.getQueueCapacity());
+            this.reader = new Stage(executor, 1, this::read,
+                    () -> !readDone && toTransform.remainingCapacity() > 0);
+            this.transformers = new Stage(transformExecutor, settings.getTransformConcurrency(), this::transform,
+                    () -> !toTransform.isEmpty() && writeSlots.availablePermits() > 0);
+            this.writers = new Stage(executor, settings.getWriteConcurrency(), this::write,
+                    () -> !toWrite.isEmpty());
+        }
+
+        CompletableFuture<Void> start() {
+            reader.signal(1);
+            return completion;
+        }
+
+        /**
+         * Reads the next batch, as much as fits into the transform queue.
+         *
+         * @return false once there is nothing to read or no room for it
+         */
+        private boolean read() {
+            if (readDone) {
+                return false;
+            }
+            if (listener.isCancelled() || failure.get() != null) {
+                endOfReading();
+                return false;
+            }
+            int limit = Math.min(settings.getReadBatchSize(), toTransform.remainingCapacity());
+            if (limit == 0) {
+                // The transformers signal the reader again once they have taken items
+                return false;
+            }
+            List<Item> batch;
+            try {
+                batch = itemRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                endOfReading();
+                return false;
+            }
+            inFlight.addAndGet(batch.size());
+            toTransform.addAll(batch);
+            transformers.signal(batch.size());
+            if (batch.size() < limit) {
+                endOfReading();
+                return false;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+            return true;
+        }
+
+        /**
+         * Passes the next queued item through the processors.
+         *
+         * @return false once there is no item to take or no room in the write queue
+         */
+        private boolean transform() {
+            if (!writeSlots.tryAcquire()) {
+                // The writers signal the transformers again once they have taken items
+                return false;
+            }
+            Item item = toTransform.poll();
+            if (item == null) {
+                writeSlots.release();
+                return false;
+            }
+            reader.signal(1);
+            if (listener.isCancelled() || failure.get() != null) {
+                writeSlots.release();
+                listener.onSkipped(1);
+                done(1);
+                return true;
+            }
+            Item transformed;
+            ItemFields before = ItemFields.of(item);
+            try {
+                transformed = processingMetrics.timeItem(() -> applyProcessors(item));
+            } catch (RuntimeException e) {
+                writeSlots.release();
+                processingMetrics.itemsFailed(1);
+                listener.onFailed(item.getId(), e);
+                done(1);
+                return true;
+            }
+            if (transformed == null) {
+                writeSlots.release();
+                done(1);
+                return true;
+            }
+            if (!before.equals(ItemFields.of(transformed))) {
+                changed.add(transformed.getId());
+            }
+            toWrite.add(transformed);
+            writers.signal(1);
+            return true;
+        }
+
+        /**
+         * Writes everything queued so far, up to {@code write-batch-size} items: batches grow with the backlog,
+         * without waiting for one.
+         *
+         * @return false once the write queue is empty
+         */
+        private boolean write() {
+            List<Item> batch = new ArrayList<>();
+            toWrite.drainTo(batch, settings.getWriteBatchSize());
+            if (batch.isEmpty()) {
+                return false;
+            }
+            writeSlots.release(batch.size());
+            transformers.signal(batch.size());
+            try {
+                flush(batch);
+            } finally {
+                done(batch.size());
+            }
+            return true;
+        }
+
+        private void endOfReading() {
+            readDone = true;
+            if (inFlight.get() == 0) {
+                finish(null);
+            }
+        }
+
+        private void done(int items) {
+            if (inFlight.addAndGet(-items) == 0 && readDone) {
+                finish(null);
+            }
+        }
+
+        /**
+         * Completes the run, exceptionally if reading failed or {@code error} is given.
+         */
+        private void finish(Throwable error) {
+            if (error != null) {
+                failure.compareAndSet(null, error);
+            }
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            Throwable cause = failure.get();
+            if (cause != null) {
+                completion.completeExceptionally(cause);
+            } else {
+                completion.complete(null);
+            }
+        }
+
+        /**
+         * Marks a batch processed in one transaction, together with the fields the processors changed, and reports
+         * each item; items deleted since they were read are left out.
+         */
+        private void flush(List<Item> batch) {
+            List<Long> ids = batch.stream().map(Item::getId).toList();
+            List<Item> modified = new ArrayList<>();
+            List<Long> unmodified = new ArrayList<>();
+            for (Item item : batch) {
+                if (changed.remove(item.getId())) {
+                    modified.add(item);
+                } else {
+                    unmodified.add(item.getId());
+                }
+            }
+            Set<Long> written;
+            List<Item> conflicts = new ArrayList<>();
+            try {
+                written = transactionOperations.execute(tx -> {
+                    Set<Long> found = new HashSet<>();
+                    List<Item> updated = new ArrayList<>();
+                    for (Item item : modified) {
+                        item.setStatus(PROCESSED_STATUS);
+                        // The processors worked on the copy read by this run: do not overwrite a later edit
+                        int count = item.getVersion() == null
+                                ? itemRepository.updateFields(item)
+                                : itemRepository.updateFieldsIfVersion(item);
+                        if (count > 0) {
+                            found.add(item.getId());
+                            updated.add(item);
+                        } else if (item.getVersion() != null && itemRepository.existsById(item.getId())) {
+                            conflicts.add(item);
+                        }
+                    }
+                    if (!unmodified.isEmpty()) {
+                        int count = itemRepository.updateStatusByIdIn(PROCESSED_STATUS, unmodified);
+                        // Only a short count pays for a second query, to tell which items are gone
+                        List<Long> existing = count == unmodified.size()
+                                ? unmodified
+                                : itemRepository.findIdsByIdIn(unmodified);
+                        found.addAll(existing);
+                        changeLog.statusChanged(unmodified.stream().filter(found::contains).toList(),
+                                PROCESSED_STATUS);
+                    }
+                    changeLog.updated(updated);
+                    return found;
+                });
+            } catch (RuntimeException e) {
+                processingMetrics.itemsFailed(batch.size());
+                batch.forEach(item -> listener.onFailed(item.getId(), e));
+                return;
+            }
+            itemCache.invalidateAll(ids);
+            processingMetrics.itemsFailed(conflicts.size());
+            conflicts.forEach(item -> listener.onFailed(item.getId(), new OptimisticLockingFailureException(
+                    "Item " + item.getId() + " was modified while it was processed")));
+            for (Item item : batch) {
+                if (written.contains(item.getId())) {
+                    item.setStatus(PROCESSED_STATUS);
+                    item.setVersion(item.getVersion() == null ? null : item.getVersion() + 1);
+                    processingMetrics.itemsSucceeded(1);
+                    listener.onProcessed(item);
+                }
+            }
+        }
+
+        /**
+         * One stage of a run: up to {@code concurrency} tasks on the stage's executor, each repeating the stage's
+         * step while it makes progress. A task ends instead of blocking once the step finds nothing to do, so a run
+         * never holds an executor thread while it waits; whoever makes work for the stage signals it again.
+         */
+        private final class Stage {
+            private final Executor stageExecutor;
+            private final int concurrency;
+            private final BooleanSupplier step;
+            private final BooleanSupplier hasWork;
+            private final AtomicInteger running = new AtomicInteger();
+
+            Stage(Executor stageExecutor, int concurrency, BooleanSupplier step, BooleanSupplier hasWork) {
+                this.stageExecutor = stageExecutor;
+                this.concurrency = Math.max(1, concurrency);
+                this.step = step;
+                this.hasWork = hasWork;
+            }
+
+            /**
+             * Starts up to {@code work} more tasks, as far as the stage's concurrency allows.
+             */
+            void signal(int work) {
+                int started = 0;
+                while (started < work) {
+                    int current = running.get();
+                    if (current >= concurrency) {
+                        return;
+                    }
+                    if (!running.compareAndSet(current, current + 1)) {
+                        continue;
+                    }
+                    started++;
+                    try {
+                        stageExecutor.execute(this::drain);
+                    } catch (RejectedExecutionException e) {
+                        running.decrementAndGet();
+                        finish(e);
+                        return;
+                    }
+                }
+            }
+
+            private void drain() {
+                try {
+                    while (step.getAsBoolean()) {
+                        // Keep going while there is work
+                    }
+                } catch (RuntimeException e) {
+                    finish(e);
+                } finally {
+                    running.decrementAndGet();
+                }
+                // Work made while this task was ending saw it still running and did not start another one
+                if (hasWork.getAsBoolean()) {
+                    signal(1);
+                }
+            }
+        }
+    }
+
+    /**
+     * The fields of an item the write stage persists, to tell whether a processor changed them.
+     */
+    private record ItemFields(String name, String description, String status, String email) {
+        static ItemFields of(Item item) {
+            return new ItemFields(item.getName(), item.getDescription(), item.getStatus(), item.getEmail());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.siemens.internship.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters of item processing: the latency of every processed item, the number of items that succeeded, failed or
+ * were skipped, the number of retried attempts, how often a run's circuit breaker opened, how many runs were
+ * cancelled or re-run, and how many callers joined a run already in progress. Skipped items are the work saved by
+ * cancelling a run or stopping it with its circuit breaker.
+ * Percentiles are configured with {@code management.metrics.distribution.*} properties.
+ */
+@Component
+public class ItemProcessingMetrics {
+
+    private final Timer itemTimer;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Counter retries;
+    private final Counter circuitOpened;
+    private final Counter runsCancelled;
+    private final Counter runsCoalesced;
+    private final Counter runsRerun;
+
+    public ItemProcessingMetrics(MeterRegistry registry) {
+        this.itemTimer = Timer.builder("item.processing.item")
+                .description("Time spent processing a single item")
+                .register(registry);
+        this.succeeded = Counter.builder("item.processing.items")
+                .description("Items processed by processing runs")
+                .tag("outcome", "success")
+                .register(registry);
+        this.failed = Counter.builder("item.processing.items")
+                .description("Items processed by processing runs")
+                .tag("outcome", "failure")
+                .register(registry);
+        this.skipped = Counter.builder("item.processing.items")
+                .description("Items processed by processing runs")
+                .tag("outcome", "skipped")
+                .register(registry);
+        this.retries = Counter.builder("item.processing.retries")
+                .description("Item attempts retried after a failure or timeout")
+                .register(registry);
+        this.circuitOpened = Counter.builder("item.processing.circuit.opened")
+                .description("Processing runs stopped by their circuit breaker")
+                .register(registry);
+        this.runsCancelled = Counter.builder("item.processing.runs.cancelled")
+                .description("Processing runs cancelled before they finished, e.g. when their request timed out")
+                .register(registry);
+        this.runsCoalesced = Counter.builder("item.processing.runs.coalesced")
+                .description("Calls to processItemsAsync that joined the run already in progress")
+                .register(registry);
+        this.runsRerun = Counter.builder("item.processing.runs.rerun")
+                .description("Runs started right after another one because items were created while it ran")
+                .register(registry);
+    }
+
+    /**
+     * Runs the processing of one item and records how long it took, whether it succeeded or not.
+     */
+    public <T> T timeItem(Supplier<T> work) {
+        return itemTimer.record(work);
+    }
+
+    /**
+     * Records the latency of an item whose processing was measured by the caller.
+     */
+    public void recordItem(long durationNanos) {
+        itemTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void itemsSucceeded(long count) {
+        succeeded.increment(count);
+    }
+
+    public void itemsFailed(long count) {
+        failed.increment(count);
+    }
+
+    public void itemsSkipped(long count) {
+        skipped.increment(count);
+    }
+
+    public void itemRetried() {
+        retries.increment();
+    }
+
+    public void circuitOpened() {
+        circuitOpened.increment();
+    }
+
+    public void runCancelled() {
+        runsCancelled.increment();
+    }
+
+    public void runCoalesced() {
+        runsCoalesced.increment();
+    }
+
+    public void runRerun() {
+        runsRerun.increment();
+    }
+}
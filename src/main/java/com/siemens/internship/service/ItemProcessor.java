@@ -0,0 +1,24 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+/**
+ * Business logic applied to every item by {@code PIPELINED} processing runs. Every bean implementing this interface
+ * is one step of the transform stage of {@link ItemPipeline}; steps run one after another for each item, in
+ * {@link org.springframework.core.annotation.Order @Order} order, and the write stage then marks the item processed
+ * and saves the name, description and email the steps changed, unless the item was edited since it was read.
+ * Custom logic is added by declaring another bean, without touching {@link ItemService}.
+ *
+ * <p>Steps are called concurrently from {@code item.processing.pipeline.transform-concurrency} threads, so
+ * implementations must be thread-safe. Blocking calls are fine: that concurrency is sized for them.</p>
+ */
+@FunctionalInterface
+public interface ItemProcessor {
+
+    /**
+     * @param item the item as read, or as returned by the previous step
+     * @return the item to hand to the next step, or null to drop the item from the run and leave it unchanged
+     * @throws Exception to fail the item; the run carries on with the other items
+     */
+    Item process(Item item) throws Exception;
+}
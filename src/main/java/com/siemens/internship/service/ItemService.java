@@ -1,25 +1,95 @@
 package com.siemens.internship.service;
 
+import com.siemens.internship.config.ItemProcessingProperties;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemCacheStats;
+import com.siemens.internship.model.ItemPage;
+import com.siemens.internship.model.ItemStats;
+import com.siemens.internship.model.ProcessingCheckpoint;
+import com.siemens.internship.model.ProcessingResult;
+import com.siemens.internship.model.ProcessingSummary;
 import com.siemens.internship.repository.ItemRepository;
-import jakarta.annotation.PreDestroy;
+import com.siemens.internship.repository.ProcessingCheckpointRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
+// Times every public method as item.service{class,method}; processing runs are timed until their future completes
+@Timed("item.service")
 public class ItemService {
 
+    private static final String PROCESSED_STATUS = "PROCESSED";
+
+    // Marks a task that did not run because its run was cancelled, as opposed to null for a missing item
+    private static final Item SKIPPED = new Item();
+
+    // Name of the watermark row used by INCREMENTAL runs
+    private static final String CHECKPOINT_NAME = "item-processing";
+
     private final ItemRepository itemRepository;
+    private final ProcessingCheckpointRepository checkpointRepository;
+    private final ItemCache itemCache;
+    private final ItemProcessingProperties processingProperties;
     private final ExecutorService asyncProcessorExecutor;
+    private final ItemProcessingMetrics processingMetrics;
+    private final StatusWriteBuffer statusWriteBuffer;
+    private final ItemPipeline itemPipeline;
+    private final ItemBatchLoader itemLoader;
+    private final ItemChangeLog changeLog;
+    private final TransactionOperations transactionOperations;
+    private final Clock clock = Clock.systemUTC();
 
-    // Constructor injection for the repository and asynchronous processing executor
-    public ItemService(ItemRepository itemRepository) {
+    // Run that processItemsAsync callers currently join, or null when none is in progress
+    private final AtomicReference<SharedRun> sharedRun = new AtomicReference<>();
+
+    // Constructor injection for the repositories, cache, processing settings, asynchronous processing executor,
+    // processing metrics, status write buffer, pipeline runner, lookup batcher, change feed and the transactions
+    // writing an item together with its change entry. The executor is a shared bean (see ProcessingExecutorConfig),
+    // which also owns its shutdown.
+    public ItemService(ItemRepository itemRepository,
+                       ProcessingCheckpointRepository checkpointRepository,
+                       ItemCache itemCache,
+                       ItemProcessingProperties processingProperties,
+                       @Qualifier("itemProcessingExecutor") ExecutorService asyncProcessorExecutor,
+                       ItemProcessingMetrics processingMetrics,
+                       StatusWriteBuffer statusWriteBuffer,
+                       ItemPipeline itemPipeline,
+                       ItemBatchLoader itemLoader,
+                       ItemChangeLog changeLog,
+                       TransactionOperations transactionOperations) {
         this.itemRepository = itemRepository;
-        // Using a work-stealing pool for efficient thread usage, which scales well for IO-bound tasks
-        this.asyncProcessorExecutor = Executors.newWorkStealingPool(); // More flexible than fixed thread pool
+        this.checkpointRepository = checkpointRepository;
+        this.itemCache = itemCache;
+        this.processingProperties = processingProperties;
+        this.asyncProcessorExecutor = asyncProcessorExecutor;
+        this.processingMetrics = processingMetrics;
+        this.statusWriteBuffer = statusWriteBuffer;
+        this.itemPipeline = itemPipeline;
+        this.itemLoader = itemLoader;
+        this.changeLog = changeLog;
+        this.transactionOperations = transactionOperations;
     }
 
     /**
@@ -32,92 +102,1133 @@ public class ItemService {
     }
 
     /**
-     * Fetches an item by its ID.
+     * Fetches one page of items using keyset pagination on the id, so the cost of a page does not depend
+     * on how deep into the table it is.
+     *
+     * @param after  id of the last item of the previous page, or null for the first page
+     * @param limit  maximum number of items in the page
+     * @param status only return items with this status, or null for all items
+     * @return the page, with a cursor to the next page if more items follow
+     */
+    public ItemPage findPage(Long after, int limit, String status) {
+        long afterId = after == null ? 0L : after;
+        // Fetch one extra row to find out whether another page follows
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Item> items = status == null
+                ? itemRepository.findByIdGreaterThanOrderByIdAsc(afterId, fetchLimit)
+                : itemRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, fetchLimit);
+        if (items.size() <= limit) {
+            return new ItemPage(items, null);
+        }
+        List<Item> page = items.subList(0, limit);
+        return new ItemPage(page, page.get(limit - 1).getId());
+    }
+
+    /**
+     * Counts items per status in the database, without loading any entity.
+     *
+     * @return the total and per-status item counts
+     */
+    public ItemStats stats() {
+        List<ItemStats.StatusCount> byStatus = itemRepository.countGroupedByStatus().stream()
+                .map(row -> new ItemStats.StatusCount(row.getStatus(), row.getCount()))
+                .toList();
+        long total = byStatus.stream().mapToLong(ItemStats.StatusCount::count).sum();
+        return new ItemStats(total, byStatus);
+    }
+
+    /**
+     * Fetches an item by its ID, from the item cache when possible. On a miss, lookups arriving together are
+     * resolved with one query (see {@link ItemBatchLoader}).
      *
      * @param id ID of the item
      * @return Optional containing the item if found, empty otherwise
      */
     public Optional<Item> findById(Long id) {
-        return itemRepository.findById(id);
+        return itemCache.get(id, itemLoader::load);
     }
 
     /**
-     * Saves an item to the repository.
+     * Saves an item and records the change in the change feed in one transaction, then refreshes its cache entry.
      *
      * @param item Item to be saved
      * @return Saved item
      */
     public Item save(Item item) {
-        return itemRepository.save(item);
+        // Read before the save, which assigns the id of a new item
+        boolean created = item.getId() == null;
+        Item saved = transactionOperations.execute(tx -> {
+            Item written = itemRepository.save(item);
+            if (created) {
+                changeLog.created(written);
+            } else {
+                changeLog.updated(written);
+            }
+            return written;
+        });
+        itemCache.put(saved);
+        if (created) {
+            itemsCreated();
+        }
+        return saved;
+    }
+
+    /**
+     * Tells the run of {@link #processItemsAsync()} in progress, if any, that items were created, so that with
+     * {@code item.processing.rerun-on-new-items} it is followed by another run. Services inserting items without
+     * {@link #save(Item)} call it once their items are committed.
+     */
+    public void itemsCreated() {
+        if (processingProperties.isRerunOnNewItems()) {
+            SharedRun run = sharedRun.get();
+            if (run != null) {
+                run.itemsCreated = true;
+            }
+        }
     }
 
     /**
-     * Deletes an item by its ID.
+     * Replaces the fields of an existing item with a single UPDATE statement, without reading it first.
+     * If {@code item} carries a version, the update only applies when it matches the stored one.
      *
-     * @param id ID of the item to be deleted
+     * @param id   ID of the item to update
+     * @param item new field values, optionally with the version the client last read
+     * @return the updated item, or empty if no item has this ID
+     * @throws OptimisticLockingFailureException if the item was changed since the given version
+     */
+    public Optional<Item> update(Long id, Item item) {
+        item.setId(id);
+        Long expectedVersion = item.getVersion();
+        int updated = transactionOperations.execute(tx -> {
+            int rows = expectedVersion == null
+                    ? itemRepository.updateFields(item)
+                    : itemRepository.updateFieldsIfVersion(item);
+            if (rows > 0) {
+                changeLog.updated(item);
+            }
+            return rows;
+        });
+        itemCache.invalidate(id);
+
+        if (updated == 0) {
+            // Only the failure path pays for a second query, to tell a stale version from a missing item
+            if (expectedVersion != null && itemRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException(
+                        "Item " + id + " was modified concurrently, expected version " + expectedVersion);
+            }
+            return Optional.empty();
+        }
+        // Without an expected version the new one is unknown until the item is read again
+        item.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+        return Optional.of(item);
+    }
+
+    /**
+     * Deletes an item by its ID with a single DELETE statement and evicts it from the cache.
+     * If a version is given, the delete only applies when it matches the stored one.
+     *
+     * @param id              ID of the item to be deleted
+     * @param expectedVersion version the client last read, or null to delete unconditionally
+     * @return true if the item was deleted, false if no item has this ID
+     * @throws OptimisticLockingFailureException if the item was changed since the given version
+     */
+    public boolean deleteById(Long id, Long expectedVersion) {
+        int deleted = transactionOperations.execute(tx -> {
+            int rows = expectedVersion == null
+                    ? itemRepository.deleteItemById(id)
+                    : itemRepository.deleteItemByIdAndVersion(id, expectedVersion);
+            if (rows > 0) {
+                changeLog.deleted(id);
+            }
+            return rows;
+        });
+        itemCache.invalidate(id);
+
+        if (deleted == 0 && expectedVersion != null && itemRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException(
+                    "Item " + id + " was modified concurrently, expected version " + expectedVersion);
+        }
+        return deleted > 0;
+    }
+
+    /**
+     * @return hit, miss and eviction counters of the item cache
      */
-    public void deleteById(Long id) {
-        itemRepository.deleteById(id);
+    public ItemCacheStats cacheStats() {
+        return itemCache.stats();
     }
 
     /**
      * Processes all items asynchronously.
      *
-     * <p>This method processes each item by submitting tasks to the executor, which runs the tasks concurrently.</p>
+     * <p>In {@code PER_ITEM} mode each item is loaded, processed and saved by its own task, with at most
+     * {@code item.processing.max-in-flight} tasks scheduled at once. Every attempt is bounded by
+     * {@code item.processing.item-timeout} and retried with jittered backoff; items that still fail are listed in
+     * the result without failing the run, and a run whose items keep failing stops early (see
+     * {@code item.processing.circuit-breaker.*}). In {@code CHUNKED}
+     * mode the table is walked in id order, one select and one bulk update per chunk of
+     * {@code item.processing.chunk-size} items. {@code INCREMENTAL} mode walks only the items not processed yet,
+     * starting after the watermark left by an interrupted run. {@code LEASED} mode claims every chunk of
+     * unprocessed items with a lease first, so instances sharing the database each process a share of them.
+     * In the chunked modes a failed chunk fails the whole run. {@code PIPELINED} mode passes every item through the
+     * {@link ItemProcessor} beans, on read, transform and write stages sized independently (see {@link ItemPipeline}).
+     * </p>
+     *
+     * <p>Calls made while a run is in progress join it instead of starting another one, and complete with its
+     * result. With {@code item.processing.rerun-on-new-items}, a run during which items were created is followed
+     * at once by another one, which later calls join.</p>
      *
-     * @return A CompletableFuture that completes when all items are processed.
+     * <p>Cancelling the returned future detaches the caller from the run; once every caller has cancelled, the run
+     * is cancelled: items not started yet are skipped without touching the database, and no further ids are handed
+     * out, so the executor is free again once the running items finish.</p>
+     *
+     * @return A CompletableFuture that completes with the processed items, the failed ones and the run's timing
+     */
+    public CompletableFuture<ProcessingResult> processItemsAsync() {
+        while (true) {
+            SharedRun run = sharedRun.get();
+            if (run != null) {
+                processingMetrics.runCoalesced();
+                return run.join();
+            }
+            // Published before it starts, so concurrent callers join it instead of starting their own
+            SharedRun started = new SharedRun();
+            if (sharedRun.compareAndSet(null, started)) {
+                CompletableFuture<ProcessingResult> caller = started.join();
+                started.start();
+                return caller;
+            }
+        }
+    }
+
+    /**
+     * Processes all items once, for the callers of {@link #processItemsAsync()} sharing the run.
      */
-    public CompletableFuture<List<Item>> processItemsAsync() {
-        List<Long> itemIds = itemRepository.findAllIds();
+    private CompletableFuture<ProcessingResult> processAllItems() {
+        Instant startedAt = clock.instant();
+        long start = System.nanoTime();
+        CompletableFuture<ProcessingResult> result = new CompletableFuture<>();
+        List<Item> processed = Collections.synchronizedList(new ArrayList<>());
+        Queue<ProcessingResult.Failure> failures = new ConcurrentLinkedQueue<>();
+        ProcessingListener collector = new ProcessingListener() {
+            @Override
+            public void onProcessed(Item item) {
+                processed.add(item);
+            }
 
-        // Create all async processing tasks (processing each item in parallel)
-        List<CompletableFuture<Item>> processingFutures = itemIds.stream()
-                .map(id -> CompletableFuture.supplyAsync(() -> processItem(id), asyncProcessorExecutor))
-                .toList();
+            @Override
+            public void onFailed(Long id, Throwable error) {
+                failures.add(new ProcessingResult.Failure(id, describe(error)));
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return result.isCancelled();
+            }
+        };
 
-        // Combine all futures into one that completes when all are done, ensuring all items are processed
-        return CompletableFuture.allOf(processingFutures.toArray(new CompletableFuture[0]))
-                .thenApply(v -> processingFutures.stream()
-                        .map(CompletableFuture::join) // Wait for all futures to complete
-                        .filter(Objects::nonNull) // Filter out any null values if an item processing failed
-                        .toList());
+        ProcessingRun run;
+        CompletableFuture<Void> walk;
+        if (processingProperties.getMode() != ItemProcessingProperties.Mode.PER_ITEM) {
+            run = new ProcessingRun(collector, ProcessingCircuitBreaker.disabled());
+            walk = walkTable(run);
+        } else {
+            run = perItemRun(collector);
+            walk = processIdsWindowed(run);
+        }
+        walk.whenComplete((v, ex) -> {
+            ProcessingSummary summary = run.finish();
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                // No-op if the caller has cancelled the run
+                result.complete(new ProcessingResult(List.copyOf(processed), List.copyOf(failures),
+                        summary.skipped(), run.isCircuitOpen(), startedAt,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            }
+        });
+        return result;
     }
 
     /**
-     * Processes a single item by updating its status and saving it to the repository.
-     * Handles any exceptions that occur during the processing.
+     * Processes all items asynchronously and hands each one to {@code onProcessed} as soon as it is saved,
+     * instead of collecting them.
      *
-     * @param id ID of the item to process
-     * @return The processed item or null if the item could not be found
+     * @param onProcessed callback invoked from the worker threads for every processed item
+     * @return A CompletableFuture that completes with the processed and failed counts once all items are done.
+     * Cancelling it cancels the run: items that have not started yet are skipped
+     * @see #processItems(ProcessingListener)
      */
-    private Item processItem(Long id) {
-        try {
-            // Simulating processing time (e.g., business logic)
-            Thread.sleep(100);
+    public CompletableFuture<ProcessingSummary> processItemsStreaming(Consumer<Item> onProcessed) {
+        CompletableFuture<ProcessingSummary> result = new CompletableFuture<>();
+        processItems(new ProcessingListener() {
+            @Override
+            public void onProcessed(Item item) {
+                onProcessed.accept(item);
+            }
 
-            // Fetch the item, update its status, and save it back
-            return itemRepository.findById(id)
-                    .map(item -> {
-                        item.setStatus("PROCESSED"); // Set the processed status
-                        return itemRepository.save(item); // Save the item after processing
+            @Override
+            public boolean isCancelled() {
+                return result.isCancelled();
+            }
+        }).whenComplete((summary, ex) -> {
+            // No-op if the caller has cancelled the run
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(summary);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Processes all items asynchronously, reporting progress to {@code listener} instead of collecting the items.
+     * A failing item is counted and does not stop the others (except in {@code CHUNKED} mode, where a failed
+     * chunk ends the run). The caller's thread is not used, not even for the initial query.
+     *
+     * @param listener receives progress callbacks and can cancel the run
+     * @return A CompletableFuture that completes with the processed, failed and skipped counts once all items are done
+     */
+    public CompletableFuture<ProcessingSummary> processItems(ProcessingListener listener) {
+        if (processingProperties.getMode() != ItemProcessingProperties.Mode.PER_ITEM) {
+            ProcessingRun run = new ProcessingRun(listener, ProcessingCircuitBreaker.disabled());
+            boolean unprocessedOnly = processingProperties.getMode() == ItemProcessingProperties.Mode.INCREMENTAL
+                    || processingProperties.getMode() == ItemProcessingProperties.Mode.LEASED;
+            return CompletableFuture.supplyAsync(() -> unprocessedOnly
+                            ? itemRepository.countByStatusNot(PROCESSED_STATUS)
+                            : itemRepository.count(), asyncProcessorExecutor)
+                    .thenCompose(total -> {
+                        listener.onStarted(total);
+                        return walkTable(run);
                     })
-                    .orElse(null); // Return null if the item was not found
+                    .thenApply(v -> run.finish());
+        }
+
+        ProcessingRun run = perItemRun(listener);
+        return CompletableFuture.supplyAsync(itemRepository::count, asyncProcessorExecutor)
+                .thenCompose(total -> {
+                    listener.onStarted(total);
+                    return processIdsWindowed(run);
+                })
+                .thenApply(v -> run.finish());
+    }
+
+    /**
+     * Starts the counters of a {@code PER_ITEM} run, guarded by its own circuit breaker.
+     */
+    private ProcessingRun perItemRun(ProcessingListener listener) {
+        return new ProcessingRun(listener, ProcessingCircuitBreaker.of(processingProperties.getCircuitBreaker()));
+    }
+
+    /**
+     * Processes every item one task per id, enumerating ids in ranges of {@code item.processing.chunk-size}.
+     * At most {@code item.processing.max-in-flight} tasks are scheduled at once: each slot takes the next id when
+     * its previous task completes, so memory depends on the window and not on the number of items.
+     *
+     * @param run receives the outcome of every item and can cancel the remaining ones
+     * @return A CompletableFuture that completes once every id has been handed out and its task has completed
+     */
+    private CompletableFuture<Void> processIdsWindowed(ProcessingRun run) {
+        IdCursor ids = new IdCursor(processingProperties.getChunkSize());
+        CompletableFuture<?>[] slots = new CompletableFuture[Math.max(1, processingProperties.getMaxInFlight())];
+        for (int i = 0; i < slots.length; i++) {
+            // Start on the executor, so the first id range is not read on the caller's thread
+            slots[i] = CompletableFuture.supplyAsync(() -> processNextId(ids, run), asyncProcessorExecutor)
+                    .thenCompose(Function.identity());
+        }
+        return CompletableFuture.allOf(slots);
+    }
+
+    /**
+     * Processes the next id of the cursor, then hands the slot on to the id after it until the cursor is exhausted.
+     */
+    private CompletableFuture<Void> processNextId(IdCursor ids, ProcessingRun run) {
+        if (run.isCancelled()) {
+            // Count the ids never handed out instead of scheduling a skipped task for each of them
+            run.skipped(ids.skipRemaining());
+            return CompletableFuture.completedFuture(null);
+        }
+        OptionalLong next = ids.next();
+        if (next.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long id = next.getAsLong();
+        return processItemWithRetry(id, run, 1)
+                .handle((item, ex) -> {
+                    if (ex != null) {
+                        processingMetrics.itemsFailed(1);
+                        if (run.failed(id, ex)) {
+                            processingMetrics.circuitOpened();
+                        }
+                    } else if (item == SKIPPED) {
+                        run.skipped(1);
+                    } else if (item != null) {
+                        run.processed(item);
+                    }
+                    return (Void) null;
+                })
+                // Continue asynchronously, so a slot whose tasks complete immediately does not grow the stack
+                .thenComposeAsync(v -> processNextId(ids, run), asyncProcessorExecutor);
+    }
+
+    /**
+     * Processes at most {@code maxItems} of the oldest items not processed yet, as one chunk. Used by the
+     * background sweep; it neither reads nor moves the watermark of {@code INCREMENTAL} runs, and claims the chunk
+     * with a lease in {@code LEASED} mode.
+     *
+     * @param maxItems maximum number of items to process
+     * @return A CompletableFuture that completes with the counts once the chunk is written
+     */
+    public CompletableFuture<ProcessingSummary> processPendingItems(int maxItems) {
+        ProcessingRun run = new ProcessingRun(new ProcessingListener() {
+        }, ProcessingCircuitBreaker.disabled());
+        boolean leased = processingProperties.getMode() == ItemProcessingProperties.Mode.LEASED;
+        return CompletableFuture.supplyAsync(() -> processChunksAsync(0L, run,
+                                new ChunkWalk(true, leased, null, maxItems, 1)),
+                        asyncProcessorExecutor)
+                .thenCompose(walk -> walk)
+                .thenApply(v -> run.finish());
+    }
+
+    /**
+     * Runs a non-{@code PER_ITEM} mode: a {@code PIPELINED} run goes through the {@link ItemPipeline} stages, the
+     * other modes walk the table in chunks.
+     */
+    private CompletableFuture<Void> walkTable(ProcessingRun run) {
+        if (processingProperties.getMode() != ItemProcessingProperties.Mode.PIPELINED) {
+            return walkChunks(run);
+        }
+        return itemPipeline.run(new ProcessingListener() {
+            @Override
+            public void onProcessed(Item item) {
+                run.processed(item);
+            }
+
+            @Override
+            public void onFailed(Long id, Throwable error) {
+                run.failed(id, error);
+            }
+
+            @Override
+            public void onSkipped(long count) {
+                run.skipped(count);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return run.isCancelled();
+            }
+        });
+    }
+
+    /**
+     * Walks the table in chunks according to the configured mode. An {@code INCREMENTAL} walk resumes after the
+     * saved watermark and removes it once the whole run has completed. A {@code LEASED} walk ends once no item is
+     * left to claim; items still leased by other instances are theirs to finish.
+     */
+    private CompletableFuture<Void> walkChunks(ProcessingRun run) {
+        int chunkSize = processingProperties.getChunkSize();
+        ItemProcessingProperties.Mode mode = processingProperties.getMode();
+        if (mode != ItemProcessingProperties.Mode.INCREMENTAL) {
+            boolean leased = mode == ItemProcessingProperties.Mode.LEASED;
+            return processChunksAsync(0L, run, new ChunkWalk(leased, leased, null, chunkSize, Long.MAX_VALUE));
+        }
+
+        Instant now = clock.instant();
+        ProcessingCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                .orElseGet(() -> new ProcessingCheckpoint(CHECKPOINT_NAME, 0L, now, now));
+        return processChunksAsync(checkpoint.getLastProcessedId(), run,
+                new ChunkWalk(true, false, checkpoint.getRunStartedAt(), chunkSize, Long.MAX_VALUE))
+                .thenRun(() -> {
+                    // A cancelled run keeps its watermark so the next run resumes it
+                    if (!run.isCancelled()) {
+                        checkpointRepository.deleteById(CHECKPOINT_NAME);
+                    }
+                });
+    }
+
+    /**
+     * Processes the chunk of items following {@code afterId}, then recursively the chunks after it.
+     * Chunks run one after another; the items within a chunk run their simulated work in parallel.
+     *
+     * @param afterId the last id of the previous chunk
+     * @param run     receives every item once its chunk has been written
+     * @param walk    which items to select and whether to save a watermark
+     * @return A CompletableFuture that completes once the last chunk is written
+     */
+    private CompletableFuture<Void> processChunksAsync(long afterId, ProcessingRun run, ChunkWalk walk) {
+        if (run.isCancelled() || walk.maxChunks() <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Limit limit = Limit.of(walk.chunkSize());
+        List<Item> chunk;
+        if (walk.leased()) {
+            chunk = claimChunk(walk.chunkSize());
+        } else if (walk.unprocessedOnly()) {
+            chunk = itemRepository.findByStatusNotAfter(PROCESSED_STATUS, afterId, limit);
+        } else {
+            chunk = itemRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+        }
+        if (chunk.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Each task reports whether it ran, so a cancellation mid-chunk leaves the skipped items untouched
+        List<CompletableFuture<Boolean>> work = chunk.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> {
+                    if (run.isCancelled()) {
+                        return false;
+                    }
+                    try {
+                        processingMetrics.timeItem(() -> {
+                            simulateWork();
+                            return null;
+                        });
+                    } catch (RuntimeException e) {
+                        processingMetrics.itemsFailed(1);
+                        throw e;
+                    }
+                    return true;
+                }, asyncProcessorExecutor))
+                .toList();
+
+        return CompletableFuture.allOf(work.toArray(new CompletableFuture[0]))
+                .thenComposeAsync(v -> {
+                    List<Item> done = new ArrayList<>(chunk.size());
+                    List<Long> skippedIds = new ArrayList<>();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (work.get(i).join()) {
+                            done.add(chunk.get(i));
+                        } else {
+                            skippedIds.add(chunk.get(i).getId());
+                        }
+                    }
+                    run.skipped(skippedIds.size());
+                    String leaseOwner = processingProperties.getLease().getOwner();
+                    if (walk.leased() && !skippedIds.isEmpty()) {
+                        // Hand the items skipped by a cancellation back at once instead of when the lease expires
+                        itemRepository.releaseLeases(skippedIds, leaseOwner);
+                    }
+
+                    if (!done.isEmpty()) {
+                        // Write the whole chunk's status change with one statement
+                        List<Long> ids = done.stream().map(Item::getId).toList();
+                        try {
+                            transactionOperations.executeWithoutResult(tx -> {
+                                if (walk.leased()) {
+                                    itemRepository.updateStatusAndReleaseLeases(PROCESSED_STATUS, ids, leaseOwner);
+                                } else {
+                                    itemRepository.updateStatusByIdIn(PROCESSED_STATUS, ids);
+                                }
+                                changeLog.statusChanged(ids, PROCESSED_STATUS);
+                            });
+                        } catch (RuntimeException e) {
+                            processingMetrics.itemsFailed(done.size());
+                            throw e;
+                        }
+                        processingMetrics.itemsSucceeded(done.size());
+                        itemCache.invalidateAll(ids);
+                        done.forEach(item -> {
+                            item.setStatus(PROCESSED_STATUS);
+                            run.processed(item);
+                        });
+                    }
+
+                    long lastId = chunk.get(chunk.size() - 1).getId();
+                    // The watermark only moves past fully written chunks
+                    if (walk.runStartedAt() != null && done.size() == chunk.size()) {
+                        checkpointRepository.save(new ProcessingCheckpoint(CHECKPOINT_NAME, lastId,
+                                walk.runStartedAt(), clock.instant()));
+                    }
+                    return processChunksAsync(lastId, run, walk.next());
+                }, asyncProcessorExecutor);
+    }
+
+    /**
+     * Claims the next chunk of unprocessed items for this instance, skipping items leased by live instances and
+     * taking over those whose lease has expired.
+     *
+     * @param chunkSize maximum number of items to claim
+     * @return the claimed items in id order, or an empty list once nothing is left to claim
+     */
+    private List<Item> claimChunk(int chunkSize) {
+        ItemProcessingProperties.LeaseProperties lease = processingProperties.getLease();
+        while (true) {
+            Instant now = clock.instant();
+            List<Long> candidates = itemRepository.findClaimableIds(PROCESSED_STATUS, now, Limit.of(chunkSize));
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+            String token = UUID.randomUUID().toString();
+            if (itemRepository.claimLeases(candidates, PROCESSED_STATUS, lease.getOwner(), token,
+                    now.plus(lease.getDuration()), now) > 0) {
+                return itemRepository.findLeased(token);
+            }
+            // Other instances claimed every candidate first; try the items after them
+        }
+    }
+
+    /**
+     * Simulates the per-item business logic.
+     */
+    private void simulateWork() {
+        try {
+            SimulatedWorkItemProcessor.simulateWork();
         } catch (InterruptedException e) {
             // Restore interrupt flag and rethrow as a runtime exception
             Thread.currentThread().interrupt();
             throw new RuntimeException("Processing interrupted", e);
+        }
+    }
+
+    /**
+     * Processes a single item on the processing executor. With the write buffer enabled, the status write joins
+     * the next batch and the worker thread is released while it waits for the flush.
+     *
+     * <p>Completing the returned future with a timeout, or cancelling it, stops the task: it does not start if it
+     * is still queued, is interrupted during the simulated work, and does not write the status afterwards. A
+     * database call already running is left to finish, and a result the task produces anyway is ignored.</p>
+     *
+     * @param id        ID of the item to process
+     * @param cancelled checked when the task starts; a cancelled task completes with {@link #SKIPPED}
+     * @return a future completed with the processed item once its status is committed, or null if the item
+     * could not be found
+     */
+    private CompletableFuture<Item> processItemAsync(Long id, BooleanSupplier cancelled) {
+        if (!processingProperties.getWriteBuffer().isEnabled()) {
+            return submitCancellable(attempt -> cancelled.getAsBoolean() ? SKIPPED : processItemMeasured(id, attempt));
+        }
+        Attempt attempt = new Attempt();
+        CompletableFuture<CompletableFuture<Item>> task = submitCancellable(attempt, () -> {
+                    if (cancelled.getAsBoolean()) {
+                        return CompletableFuture.completedFuture(SKIPPED);
+                    }
+                    long start = System.nanoTime();
+                    CompletableFuture<Item> processed;
+                    try {
+                        processed = fetchForProcessing(id, attempt)
+                                .map(item -> PROCESSED_STATUS.equals(item.getStatus())
+                                        // An earlier attempt has already written it
+                                        ? CompletableFuture.completedFuture(item)
+                                        : statusWriteBuffer.write(id, PROCESSED_STATUS)
+                                        // Continue on the executor, not on the buffer's flusher thread
+                                        .thenApplyAsync(written -> written ? markProcessed(item) : null,
+                                                asyncProcessorExecutor))
+                                .orElseGet(() -> CompletableFuture.completedFuture(null));
+                    } catch (RuntimeException e) {
+                        processed = CompletableFuture.failedFuture(e);
+                    }
+                    return processed.whenComplete((item, error) -> {
+                        processingMetrics.recordItem(System.nanoTime() - start);
+                        if (error == null && item != null) {
+                            processingMetrics.itemsSucceeded(1);
+                        }
+                    });
+                });
+        CompletableFuture<Item> result = task.thenCompose(Function.identity());
+        result.whenComplete((item, error) -> {
+            if (isAbandoned(error)) {
+                task.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs {@code work} on the processing executor, with an {@link Attempt} of its own.
+     */
+    private <T> CompletableFuture<T> submitCancellable(Function<Attempt, T> work) {
+        Attempt attempt = new Attempt();
+        return submitCancellable(attempt, () -> work.apply(attempt));
+    }
+
+    /**
+     * Runs {@code work} on the processing executor. Once the returned future has timed out or was cancelled, the
+     * task is cancelled if it has not started and its attempt is abandoned otherwise.
+     */
+    private <T> CompletableFuture<T> submitCancellable(Attempt attempt, Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = asyncProcessorExecutor.submit(() -> {
+            try {
+                result.complete(work.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (isAbandoned(error)) {
+                task.cancel(false);
+                attempt.abandon();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return true if a future was completed with {@code error} from outside, before its task finished
+     */
+    private static boolean isAbandoned(Throwable error) {
+        return error instanceof TimeoutException || error instanceof CancellationException;
+    }
+
+    /**
+     * Processes a single item, recording its latency and whether it succeeded. Failures are counted by the caller,
+     * once the item has run out of attempts.
+     *
+     * @param id ID of the item to process
+     * @return The processed item or null if the item could not be found
+     */
+    private Item processItemMeasured(Long id, Attempt attempt) {
+        Item item = processingMetrics.timeItem(() -> processItem(id, attempt));
+        if (item != null) {
+            processingMetrics.itemsSucceeded(1);
+        }
+        return item;
+    }
+
+    /**
+     * Processes a single item by updating its status in the repository.
+     * Handles any exceptions that occur during the processing.
+     *
+     * <p>An item that is already {@code PROCESSED}, for instance by an earlier attempt that committed just before
+     * it timed out, is returned as it is, without another status write or change feed entry.</p>
+     *
+     * @param id      ID of the item to process
+     * @param attempt the attempt running this call
+     * @return The processed item or null if the item could not be found
+     */
+    private Item processItem(Long id, Attempt attempt) {
+        attempt.simulateWork();
+        try {
+            Optional<Item> found = itemRepository.findById(id);
+            if (found.isEmpty()) {
+                return null;
+            }
+            Item item = found.get();
+            if (PROCESSED_STATUS.equals(item.getStatus())) {
+                return item;
+            }
+            attempt.checkNotAbandoned();
+            // Write only the status column, so concurrent edits to other fields survive
+            boolean written = transactionOperations.execute(tx -> {
+                if (itemRepository.updateStatusById(id, PROCESSED_STATUS) == 0) {
+                    return false;
+                }
+                changeLog.statusChanged(List.of(id), PROCESSED_STATUS);
+                return true;
+            });
+            if (written) {
+                return markProcessed(item);
+            }
+            // Deleted meanwhile, or already marked processed by an attempt that committed after the read
+            itemCache.invalidate(id);
+            return itemRepository.findById(id)
+                    .filter(current -> PROCESSED_STATUS.equals(current.getStatus()))
+                    .orElse(null);
+        } catch (Exception e) {
+            throw processingFailure(id, e);
+        }
+    }
+
+    /**
+     * Runs the simulated per-item work and loads the item, for the write-buffered path of {@link #processItemAsync}.
+     *
+     * @param id      ID of the item to process
+     * @param attempt the attempt running this call
+     * @return the item, or empty if it does not exist
+     */
+    private Optional<Item> fetchForProcessing(Long id, Attempt attempt) {
+        attempt.simulateWork();
+        try {
+            Optional<Item> item = itemRepository.findById(id);
+            attempt.checkNotAbandoned();
+            return item;
         } catch (Exception e) {
-            // General exception handling for any other errors during item processing
-            throw new RuntimeException("Failed to process item " + id, e);
+            throw processingFailure(id, e);
+        }
+    }
+
+    /**
+     * Wraps an error raised while processing an item, restoring the interrupt flag if it was an interrupt.
+     */
+    private static RuntimeException processingFailure(Long id, Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            return new RuntimeException("Processing interrupted", e);
         }
+        return new RuntimeException("Failed to process item " + id, e);
     }
 
     /**
-     * Cleanup method to shutdown the executor service when the service is destroyed.
+     * Applies a committed status write to the loaded copy of the item and evicts the cached one.
      */
-    @PreDestroy
-    public void shutdown() {
-        asyncProcessorExecutor.shutdownNow(); // Stop all tasks and clean up resources
+    private Item markProcessed(Item item) {
+        item.setStatus(PROCESSED_STATUS);
+        item.setVersion(item.getVersion() == null ? null : item.getVersion() + 1);
+        itemCache.invalidate(item.getId());
+        return item;
+    }
+
+    /**
+     * Processes one item, bounding every attempt by {@code item.processing.item-timeout} and retrying a failed
+     * attempt after a jittered, exponentially growing backoff until {@code item.processing.retry.max-attempts}
+     * is reached. A timed-out attempt is abandoned (see {@link Attempt}) and its late result ignored; every retry runs
+     * as a new task, and finds the item already processed if the abandoned attempt committed its write anyway.
+     * An interrupted attempt, or one failing after the run was cancelled, is not retried.
+     *
+     * @param id      ID of the item to process
+     * @param run     the run the item belongs to
+     * @param attempt number of this attempt, starting at 1
+     * @return a future completed like {@link #processItemAsync}, or with the error of the last attempt
+     */
+    private CompletableFuture<Item> processItemWithRetry(long id, ProcessingRun run, int attempt) {
+        Duration timeout = processingProperties.getItemTimeout();
+        CompletableFuture<Item> attemptResult = processItemAsync(id, run::isCancelled);
+        if (!timeout.isZero() && !timeout.isNegative()) {
+            attemptResult = attemptResult.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return attemptResult
+                .handle((item, ex) -> {
+                    if (ex == null) {
+                        return CompletableFuture.completedFuture(item);
+                    }
+                    Throwable error = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (error instanceof TimeoutException) {
+                        error = new TimeoutException("Item " + id + " timed out after " + timeout.toMillis() + " ms");
+                    }
+                    if (attempt >= processingProperties.getRetry().getMaxAttempts()
+                            || isInterrupt(error)
+                            || run.isCancelled()) {
+                        return CompletableFuture.<Item>failedFuture(error);
+                    }
+                    processingMetrics.itemRetried();
+                    Executor delayed = CompletableFuture.delayedExecutor(backoffMillis(attempt), TimeUnit.MILLISECONDS,
+                            asyncProcessorExecutor);
+                    return CompletableFuture.supplyAsync(() -> processItemWithRetry(id, run, attempt + 1), delayed)
+                            .thenCompose(Function.identity());
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Wait before the retry following the given attempt: the backoff doubles per attempt up to the configured
+     * maximum, and a random share of up to half of it is taken off, so items that failed together retry apart.
+     */
+    private long backoffMillis(int attempt) {
+        ItemProcessingProperties.RetryProperties retry = processingProperties.getRetry();
+        long backoff = Math.min(retry.getMaxBackoff().toMillis(),
+                retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        return backoff <= 0 ? 0 : ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+    }
+
+    private static boolean isInterrupt(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reason reported for a failed item: the error's message, followed by the message of its cause.
+     */
+    private static String describe(Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        Throwable cause = error.getCause();
+        return cause != null && cause.getMessage() != null && !message.contains(cause.getMessage())
+                ? message + ": " + cause.getMessage()
+                : message;
+    }
+
+    /**
+     * One attempt at an item, which a timeout or a cancellation abandons. The thread running it is only interrupted
+     * during the simulated work, never during a database call: an interrupt closes the file channel of the
+     * file-backed H2 store. Once past the simulated work, the attempt checks whether it was abandoned before it
+     * writes anything.
+     */
+    private static final class Attempt {
+        // Guarded by this
+        private Thread interruptible;
+        private boolean abandoned;
+
+        synchronized void abandon() {
+            abandoned = true;
+            if (interruptible != null) {
+                interruptible.interrupt();
+            }
+        }
+
+        void simulateWork() {
+            synchronized (this) {
+                checkNotAbandoned();
+                interruptible = Thread.currentThread();
+            }
+            try {
+                SimulatedWorkItemProcessor.simulateWork();
+            } catch (InterruptedException e) {
+                synchronized (this) {
+                    interruptible = null;
+                    if (!abandoned) {
+                        // Interrupted from elsewhere, e.g. the executor shutting down
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException("Processing interrupted", e);
+                    }
+                }
+                throw abandonedError();
+            }
+            synchronized (this) {
+                interruptible = null;
+                if (abandoned) {
+                    // An interrupt that arrived after the work ended must not reach the next database call
+                    Thread.interrupted();
+                    throw abandonedError();
+                }
+            }
+        }
+
+        synchronized void checkNotAbandoned() {
+            if (abandoned) {
+                throw abandonedError();
+            }
+        }
+
+        private static CancellationException abandonedError() {
+            return new CancellationException("Attempt abandoned after a timeout or cancellation");
+        }
+    }
+
+    /**
+     * Hands out item ids in ascending order, shared by all slots of one {@link #processIdsWindowed} run.
+     * Ids are read one range at a time into a primitive array, so a run never holds more than one range of ids.
+     */
+    private final class IdCursor {
+        private final int chunkSize;
+        private long[] chunk = new long[0];
+        private int position;
+        private long lastId;
+        private boolean exhausted;
+
+        IdCursor(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        /**
+         * @return the next id, or empty once every id has been handed out
+         */
+        synchronized OptionalLong next() {
+            if (position == chunk.length && !exhausted) {
+                List<Long> ids = itemRepository.findIdsAfter(lastId, Limit.of(chunkSize));
+                chunk = new long[ids.size()];
+                for (int i = 0; i < chunk.length; i++) {
+                    chunk[i] = ids.get(i);
+                }
+                position = 0;
+                // A short range is the last one, which saves the query that would come back empty
+                exhausted = chunk.length < chunkSize;
+                if (chunk.length > 0) {
+                    lastId = chunk[chunk.length - 1];
+                }
+            }
+            return position < chunk.length ? OptionalLong.of(chunk[position++]) : OptionalLong.empty();
+        }
+
+        /**
+         * Stops handing out ids.
+         *
+         * @return the number of ids that will now never be handed out, counted with at most one query
+         */
+        synchronized long skipRemaining() {
+            long remaining = chunk.length - position;
+            if (!exhausted) {
+                remaining += itemRepository.countByIdGreaterThan(lastId);
+                exhausted = true;
+            }
+            position = chunk.length;
+            return remaining;
+        }
+    }
+
+    /**
+     * How {@link #processChunksAsync} walks the table.
+     *
+     * @param unprocessedOnly select only items not processed yet
+     * @param leased          claim every chunk with a lease instead of selecting it after the previous one
+     * @param runStartedAt    start of the run the watermark belongs to, or null to not save a watermark
+     * @param chunkSize       items per chunk
+     * @param maxChunks       number of chunks left to process
+     */
+    private record ChunkWalk(boolean unprocessedOnly, boolean leased, Instant runStartedAt, int chunkSize,
+                             long maxChunks) {
+        ChunkWalk next() {
+            return new ChunkWalk(unprocessedOnly, leased, runStartedAt, chunkSize, maxChunks - 1);
+        }
+    }
+
+    /**
+     * One run of {@link #processItemsAsync()} with the callers waiting for it. Its callers are guarded by its own
+     * monitor, which is never held while the run starts or completes its callers.
+     */
+    private final class SharedRun {
+        private final List<CompletableFuture<ProcessingResult>> callers = new ArrayList<>();
+        // Completed with the run's outcome before the callers are, for callers joining once it has completed
+        private final CompletableFuture<ProcessingResult> result = new CompletableFuture<>();
+        private CompletableFuture<ProcessingResult> processing;
+        private boolean completed;
+        private boolean cancelled;
+        volatile boolean itemsCreated;
+
+        /**
+         * Processes all items; called once, after the run was published.
+         */
+        void start() {
+            CompletableFuture<ProcessingResult> started = processAllItems();
+            boolean cancel;
+            synchronized (this) {
+                processing = started;
+                // Every caller may have left before the run was started
+                cancel = cancelled;
+            }
+            if (cancel) {
+                started.cancel(false);
+            }
+            started.whenComplete(this::complete);
+        }
+
+        /**
+         * @return a future of the run's result for one caller; cancelling it cancels the run once no caller is left
+         */
+        CompletableFuture<ProcessingResult> join() {
+            CompletableFuture<ProcessingResult> caller = new CompletableFuture<>();
+            synchronized (this) {
+                if (completed) {
+                    // The run completed before this caller joined it, e.g. on an empty table
+                    return result.copy();
+                }
+                callers.add(caller);
+            }
+            caller.whenComplete((outcome, ex) -> {
+                if (ex instanceof CancellationException) {
+                    leave(caller);
+                }
+            });
+            return caller;
+        }
+
+        private void leave(CompletableFuture<ProcessingResult> caller) {
+            CompletableFuture<ProcessingResult> toCancel = null;
+            synchronized (this) {
+                if (callers.remove(caller) && callers.isEmpty() && !completed) {
+                    cancelled = true;
+                    toCancel = processing;
+                }
+            }
+            if (toCancel != null) {
+                toCancel.cancel(false);
+            }
+        }
+
+        /**
+         * Hands the outcome to the callers, after making way for the next run: a rerun if items were created
+         * meanwhile, otherwise whichever caller comes next.
+         */
+        private void complete(ProcessingResult outcome, Throwable ex) {
+            if (itemsCreated && ex == null) {
+                SharedRun rerun = new SharedRun();
+                if (sharedRun.compareAndSet(this, rerun)) {
+                    processingMetrics.runRerun();
+                    rerun.start();
+                }
+            } else {
+                sharedRun.compareAndSet(this, null);
+            }
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(outcome);
+            }
+            List<CompletableFuture<ProcessingResult>> waiting;
+            synchronized (this) {
+                completed = true;
+                waiting = List.copyOf(callers);
+                callers.clear();
+            }
+            waiting.forEach(caller -> {
+                if (ex != null) {
+                    caller.completeExceptionally(ex);
+                } else {
+                    caller.complete(outcome);
+                }
+            });
+        }
+    }
+
+    /**
+     * Counters of one processing run, forwarding every event to the run's listener.
+     */
+    private final class ProcessingRun {
+        private final ProcessingListener listener;
+        private final ProcessingCircuitBreaker circuitBreaker;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+
+        ProcessingRun(ProcessingListener listener, ProcessingCircuitBreaker circuitBreaker) {
+            this.listener = listener;
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        /**
+         * @return true once the listener cancelled the run or its circuit breaker opened
+         */
+        boolean isCancelled() {
+            return circuitBreaker.isOpen() || listener.isCancelled();
+        }
+
+        boolean isCircuitOpen() {
+            return circuitBreaker.isOpen();
+        }
+
+        void processed(Item item) {
+            processed.incrementAndGet();
+            circuitBreaker.record(false);
+            listener.onProcessed(item);
+        }
+
+        /**
+         * @return true if this failure opened the run's circuit breaker
+         */
+        boolean failed(Long id, Throwable error) {
+            failed.incrementAndGet();
+            boolean opened = circuitBreaker.record(true);
+            listener.onFailed(id, error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error);
+            return opened;
+        }
+
+        void skipped(long count) {
+            skipped.addAndGet(count);
+            processingMetrics.itemsSkipped(count);
+            listener.onSkipped(count);
+        }
+
+        /**
+         * Ends the run, counting it as cancelled if its listener cancelled it.
+         *
+         * @return the final counts
+         */
+        ProcessingSummary finish() {
+            if (listener.isCancelled()) {
+                processingMetrics.runCancelled();
+            }
+            return summary();
+        }
+
+        ProcessingSummary summary() {
+            return new ProcessingSummary(processed.get(), failed.get(), skipped.get());
+        }
     }
 }
 // This class is responsible for managing items in the system, including CRUD operations and asynchronous processing.
\ No newline at end of file
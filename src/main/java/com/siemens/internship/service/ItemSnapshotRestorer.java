@@ -0,0 +1,47 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemSnapshotProperties;
+import com.siemens.internship.model.SnapshotResult;
+import com.siemens.internship.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Reloads the item table from the snapshot file when the application starts with an empty table.
+ * Enabled with {@code item.snapshot.restore-on-startup=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "item.snapshot", name = "restore-on-startup", havingValue = "true")
+public class ItemSnapshotRestorer implements ApplicationRunner {
+
+    private final ItemSnapshotService snapshotService;
+    private final ItemRepository itemRepository;
+    private final ItemSnapshotProperties snapshotProperties;
+
+    public ItemSnapshotRestorer(ItemSnapshotService snapshotService,
+                                ItemRepository itemRepository,
+                                ItemSnapshotProperties snapshotProperties) {
+        this.snapshotService = snapshotService;
+        this.itemRepository = itemRepository;
+        this.snapshotProperties = snapshotProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        // A persistent store that already holds items is newer than any snapshot of it
+        if (!Files.exists(snapshotProperties.getPath()) || itemRepository.count() > 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        SnapshotResult result = snapshotService.restore();
+        log.info("Restored {} items ({} bytes) from {} in {} ms", result.items(), result.bytes(), result.path(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,253 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemSnapshotProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.SnapshotResult;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the item table to a compact binary file and loads it back, so a restart does not need to re-import
+ * every item through the API.
+ *
+ * <p>The file starts with a magic number and a format version, followed by blocks of
+ * {@code [int itemCount][int byteLength][items]}. An item is its id, a flag byte telling whether a version follows,
+ * the version, then name, description, status and email, each as an int UTF-8 length ({@code -1} for null)
+ * and the bytes. On restore every block is memory-mapped and inserted with one JDBC batch.</p>
+ */
+@Service
+public class ItemSnapshotService {
+
+    private static final int MAGIC = 0x4954454D; // "ITEM"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int BLOCK_HEADER_BYTES = 8;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO item (id, name, description, status, email, version) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String ITEM_SEQUENCE = "item_seq";
+    // Both leave the next sequence value one allocation above the highest id: the pooled optimizer hands out the
+    // allocation below the value it fetches
+    private static final String H2_MOVE_SEQUENCE_SQL = "ALTER SEQUENCE " + ITEM_SEQUENCE
+            + " RESTART WITH (SELECT COALESCE(MAX(id), 0) + " + (Item.ID_ALLOCATION_SIZE + 1) + " FROM item)";
+    private static final String POSTGRESQL_MOVE_SEQUENCE_SQL = "SELECT setval('" + ITEM_SEQUENCE
+            + "', (SELECT COALESCE(MAX(id), 0) + 1 FROM item))";
+
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemSnapshotProperties snapshotProperties;
+    private final TransactionOperations transactionOperations;
+    private final ItemService itemService;
+
+    public ItemSnapshotService(ItemRepository itemRepository,
+                               EntityManager entityManager,
+                               JdbcTemplate jdbcTemplate,
+                               ItemSnapshotProperties snapshotProperties,
+                               TransactionOperations transactionOperations,
+                               ItemService itemService) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotProperties = snapshotProperties;
+        this.transactionOperations = transactionOperations;
+        this.itemService = itemService;
+    }
+
+    /**
+     * Writes every item to the configured snapshot file. The file is written next to the target and moved into
+     * place once complete, so a crash never leaves a truncated snapshot behind.
+     *
+     * @return the number of items written and the size of the file
+     * @throws IOException if the file cannot be written
+     */
+    @Transactional(readOnly = true)
+    public SnapshotResult writeSnapshot() throws IOException {
+        Path path = snapshotProperties.getPath().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        int blockSize = (int) snapshotProperties.getBlockSize().toBytes();
+
+        long count = 0;
+        try (Stream<Item> items = itemRepository.streamAllByOrderByIdAsc();
+             DataOutputStream file = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            file.writeInt(MAGIC);
+            file.writeInt(FORMAT_VERSION);
+
+            ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(blockSize);
+            DataOutputStream block = new DataOutputStream(blockBytes);
+            int blockCount = 0;
+            Iterator<Item> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                writeItem(block, iterator.next());
+                blockCount++;
+                if (++count % ItemRepository.STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+                if (blockBytes.size() >= blockSize) {
+                    writeBlock(file, blockCount, blockBytes);
+                    blockCount = 0;
+                }
+            }
+            if (blockCount > 0) {
+                writeBlock(file, blockCount, blockBytes);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new SnapshotResult(count, Files.size(path), path.toString());
+    }
+
+    /**
+     * Loads the configured snapshot file into the empty item table, committing every block on its own, then moves
+     * the id sequence past the restored ids. A processing run in progress hears of every committed block. If the
+     * restore fails part way, the blocks committed so far stay and the sequence is still moved past them.
+     *
+     * @return the number of items restored and the size of the file
+     * @throws IOException           if the file cannot be read or is not a snapshot
+     * @throws IllegalStateException if the item table is not empty
+     */
+    public SnapshotResult restore() throws IOException {
+        if (itemRepository.count() > 0) {
+            throw new IllegalStateException("Cannot restore a snapshot into a non-empty item table");
+        }
+        Path path = snapshotProperties.getPath().toAbsolutePath();
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, FILE_HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException(path + " is not an item snapshot of format version " + FORMAT_VERSION);
+            }
+            long position = FILE_HEADER_BYTES;
+            long size = channel.size();
+            while (position < size) {
+                ByteBuffer blockHeader = read(channel, position, BLOCK_HEADER_BYTES);
+                int itemCount = blockHeader.getInt();
+                int length = blockHeader.getInt();
+                MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, position + BLOCK_HEADER_BYTES, length);
+
+                List<Object[]> rows = new ArrayList<>(itemCount);
+                for (int i = 0; i < itemCount; i++) {
+                    rows.add(readItem(block));
+                }
+                transactionOperations.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+                count += itemCount;
+                itemService.itemsCreated();
+                position += BLOCK_HEADER_BYTES + length;
+            }
+        } finally {
+            if (count > 0) {
+                moveItemSequencePastRestoredIds();
+            }
+        }
+        return new SnapshotResult(count, Files.size(path), path.toString());
+    }
+
+    /**
+     * Moves the id sequence past the highest id in the table, outside of any data transaction. The statements
+     * read the highest id themselves; other databases draw sequence values until one is past it.
+     */
+    private void moveItemSequencePastRestoredIds() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        if (dialect instanceof H2Dialect) {
+            jdbcTemplate.execute(H2_MOVE_SEQUENCE_SQL);
+        } else if (dialect instanceof PostgreSQLDialect) {
+            jdbcTemplate.queryForObject(POSTGRESQL_MOVE_SEQUENCE_SQL, Long.class);
+        } else {
+            String nextValue = dialect.getSequenceSupport().getSequenceNextValString(ITEM_SEQUENCE);
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM item", Long.class);
+            long floor = (maxId == null ? 0 : maxId) + Item.ID_ALLOCATION_SIZE;
+            Long value;
+            do {
+                value = jdbcTemplate.queryForObject(nextValue, Long.class);
+            } while (value != null && value < floor);
+        }
+    }
+
+    private static void writeBlock(DataOutputStream file, int itemCount, ByteArrayOutputStream blockBytes)
+            throws IOException {
+        file.writeInt(itemCount);
+        file.writeInt(blockBytes.size());
+        blockBytes.writeTo(file);
+        blockBytes.reset();
+    }
+
+    private static void writeItem(DataOutputStream out, Item item) throws IOException {
+        out.writeLong(item.getId());
+        out.writeBoolean(item.getVersion() != null);
+        out.writeLong(item.getVersion() == null ? 0 : item.getVersion());
+        writeString(out, item.getName());
+        writeString(out, item.getDescription());
+        writeString(out, item.getStatus());
+        writeString(out, item.getEmail());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads one item as the parameters of {@link #INSERT_SQL}.
+     */
+    private static Object[] readItem(ByteBuffer in) {
+        long id = in.getLong();
+        boolean hasVersion = in.get() != 0;
+        long version = in.getLong();
+        String name = readString(in);
+        String description = readString(in);
+        String status = readString(in);
+        String email = readString(in);
+        return new Object[]{id, name, description, status, email, hasVersion ? version : null};
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of snapshot at offset " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,70 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+
+/**
+ * Count-based circuit breaker of one processing run. It remembers whether each of the last {@code window-size}
+ * finished items failed, and opens once that window is full and its failure rate exceeds the threshold.
+ * An open breaker stays open until the run ends, so the run stops scheduling items instead of hammering
+ * a database that keeps failing.
+ */
+final class ProcessingCircuitBreaker {
+
+    // Ring buffer of the last outcomes, true for a failure; empty when the breaker is disabled
+    private final boolean[] outcomes;
+    private final double failureRateThreshold;
+    private int next;
+    private int recorded;
+    private int failures;
+    private volatile boolean open;
+
+    private ProcessingCircuitBreaker(int windowSize, double failureRateThreshold) {
+        this.outcomes = new boolean[windowSize];
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    static ProcessingCircuitBreaker of(ItemProcessingProperties.CircuitBreakerProperties properties) {
+        return properties.isEnabled()
+                ? new ProcessingCircuitBreaker(Math.max(1, properties.getWindowSize()),
+                properties.getFailureRateThreshold())
+                : disabled();
+    }
+
+    static ProcessingCircuitBreaker disabled() {
+        return new ProcessingCircuitBreaker(0, 1.0);
+    }
+
+    /**
+     * Records the outcome of one finished item.
+     *
+     * @return true if this outcome opened the breaker
+     */
+    synchronized boolean record(boolean failed) {
+        if (outcomes.length == 0 || open) {
+            return false;
+        }
+        if (recorded == outcomes.length) {
+            // The window is full: the oldest outcome makes room for this one
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+
+        if (recorded == outcomes.length && (double) failures / recorded > failureRateThreshold) {
+            open = true;
+            return true;
+        }
+        return false;
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+}
@@ -0,0 +1,122 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ProcessingJobStatus;
+import com.siemens.internship.model.ProcessingSummary;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A processing run started through the job API. Tracks its own progress as a {@link ProcessingListener}
+ * and carries the cancellation flag polled by the workers.
+ */
+public class ProcessingJob implements ProcessingListener {
+
+    private final String id;
+    private final Clock clock;
+    private final Instant startedAt;
+    private final AtomicLong total = new AtomicLong(-1);
+    private final AtomicLong done = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private volatile boolean cancelled;
+    private volatile ProcessingJobStatus.State state = ProcessingJobStatus.State.RUNNING;
+    private volatile Instant finishedAt;
+
+    public ProcessingJob(String id, Clock clock) {
+        this.id = id;
+        this.clock = clock;
+        this.startedAt = clock.instant();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void onStarted(long total) {
+        this.total.set(total);
+    }
+
+    @Override
+    public void onProcessed(Item item) {
+        done.incrementAndGet();
+    }
+
+    @Override
+    public void onFailed(Long id, Throwable error) {
+        failed.incrementAndGet();
+    }
+
+    @Override
+    public void onSkipped(long count) {
+        skipped.addAndGet(count);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Asks the workers to skip every item that has not started yet. Items already running finish normally.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Records the end of the run.
+     *
+     * @param summary final counts, or null if the run failed
+     * @param error   the failure, or null if the run completed
+     */
+    public void finish(ProcessingSummary summary, Throwable error) {
+        if (summary != null) {
+            // The run's own count is the final one
+            skipped.set(summary.skipped());
+        }
+        finishedAt = clock.instant();
+        if (error != null) {
+            state = ProcessingJobStatus.State.FAILED;
+        } else if (cancelled) {
+            state = ProcessingJobStatus.State.CANCELLED;
+        } else {
+            state = ProcessingJobStatus.State.COMPLETED;
+        }
+    }
+
+    public boolean isFinished() {
+        return state != ProcessingJobStatus.State.RUNNING;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * @return a consistent-enough snapshot of the progress, with throughput and an ETA derived from it
+     */
+    public ProcessingJobStatus status() {
+        long totalItems = total.get();
+        long doneItems = done.get();
+        long failedItems = failed.get();
+        long skippedItems = skipped.get();
+        Instant end = finishedAt != null ? finishedAt : clock.instant();
+        double elapsedSeconds = Duration.between(startedAt, end).toMillis() / 1000.0;
+        double rate = elapsedSeconds > 0 ? (doneItems + failedItems) / elapsedSeconds : 0;
+
+        Long eta = null;
+        if (isFinished()) {
+            eta = 0L;
+        } else if (totalItems >= 0 && rate > 0) {
+            long remaining = Math.max(0, totalItems - doneItems - failedItems - skippedItems);
+            eta = (long) Math.ceil(remaining / rate);
+        }
+        return new ProcessingJobStatus(id, state, totalItems, doneItems, failedItems, skippedItems, rate, eta,
+                startedAt, finishedAt);
+    }
+}
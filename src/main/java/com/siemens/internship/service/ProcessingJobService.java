@@ -0,0 +1,94 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.ProcessingJobStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs item processing as background jobs that clients poll, instead of holding one request open per run.
+ * One job runs at a time: starting a job while one is running returns the running job.
+ */
+@Service
+public class ProcessingJobService {
+
+    // Finished jobs stay queryable for this long, then are dropped on the next submission
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final ItemService itemService;
+    private final Clock clock;
+    private final Map<String, ProcessingJob> jobs = new ConcurrentHashMap<>();
+    // The running job, cleared once it has finished
+    private final AtomicReference<ProcessingJob> active = new AtomicReference<>();
+
+    public ProcessingJobService(ItemService itemService) {
+        this.itemService = itemService;
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * Starts processing every item in the background, unless a job is already running.
+     *
+     * @return the status of the new job, or of the running one, including its id
+     * @throws IllegalStateException if the running job has been cancelled and is still stopping
+     */
+    public ProcessingJobStatus start() {
+        purgeFinishedJobs();
+        while (true) {
+            ProcessingJob running = active.get();
+            if (running != null) {
+                if (running.isCancelled()) {
+                    throw new IllegalStateException("Processing job " + running.getId() + " is still stopping");
+                }
+                return running.status();
+            }
+            ProcessingJob job = new ProcessingJob(UUID.randomUUID().toString(), clock);
+            if (active.compareAndSet(null, job)) {
+                jobs.put(job.getId(), job);
+                itemService.processItems(job).whenComplete((summary, error) -> {
+                    job.finish(summary, error);
+                    active.compareAndSet(job, null);
+                });
+                return job.status();
+            }
+        }
+    }
+
+    /**
+     * @param id job id
+     * @return the job's current progress, or empty if there is no such job
+     */
+    public Optional<ProcessingJobStatus> status(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(ProcessingJob::status);
+    }
+
+    /**
+     * Cancels a job: tasks already queued on the executor are skipped when they come up, running ones finish.
+     * A job that has already finished is left as it is.
+     *
+     * @param id job id
+     * @return the job's progress after the request, or empty if there is no such job
+     */
+    public Optional<ProcessingJobStatus> cancel(String id) {
+        ProcessingJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (!job.isFinished()) {
+            job.cancel();
+        }
+        return Optional.of(job.status());
+    }
+
+    private void purgeFinishedJobs() {
+        Instant cutoff = clock.instant().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,42 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+/**
+ * Receives progress callbacks from a processing run started with {@link ItemService#processItems(ProcessingListener)}.
+ * Callbacks arrive concurrently from the worker threads, so implementations must be thread-safe.
+ */
+public interface ProcessingListener {
+
+    /**
+     * Called once, before any item is processed, with the number of items the run will visit.
+     */
+    default void onStarted(long total) {
+    }
+
+    /**
+     * Called for every item once its new status has been written.
+     */
+    default void onProcessed(Item item) {
+    }
+
+    /**
+     * Called for every item whose processing threw an exception.
+     */
+    default void onFailed(Long id, Throwable error) {
+    }
+
+    /**
+     * Called for items that will not be processed because the run was cancelled, possibly many at once.
+     */
+    default void onSkipped(long count) {
+    }
+
+    /**
+     * Polled before each item starts. Once it returns true, items that have not started yet are skipped
+     * without touching the database, which frees the executor within microseconds per queued task.
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps processing newly created items in small batches, without anyone calling {@code /process}.
+ * Enabled with {@code item.processing.sweep.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "item.processing.sweep", name = "enabled", havingValue = "true")
+public class ProcessingSweeper {
+
+    private final ItemService itemService;
+    private final ItemProcessingProperties processingProperties;
+
+    public ProcessingSweeper(ItemService itemService, ItemProcessingProperties processingProperties) {
+        this.itemService = itemService;
+        this.processingProperties = processingProperties;
+    }
+
+    /**
+     * Processes one batch of pending items. Waits for the batch, so with a fixed delay sweeps never overlap.
+     */
+    @Scheduled(fixedDelayString = "${item.processing.sweep.interval:PT30S}")
+    public void sweep() {
+        itemService.processPendingItems(processingProperties.getSweep().getBatchSize()).join();
+    }
+}
@@ -0,0 +1,29 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in for the real per-item business logic of {@code PIPELINED} runs: the same 100 ms of simulated work the
+ * other processing modes perform.
+ */
+@Component
+@Order(0)
+public class SimulatedWorkItemProcessor implements ItemProcessor {
+
+    private static final long SIMULATED_WORK_MILLIS = 100;
+
+    @Override
+    public Item process(Item item) throws InterruptedException {
+        simulateWork();
+        return item;
+    }
+
+    /**
+     * Performs the simulated work of one item, shared by every processing mode.
+     */
+    static void simulateWork() throws InterruptedException {
+        Thread.sleep(SIMULATED_WORK_MILLIS);
+    }
+}
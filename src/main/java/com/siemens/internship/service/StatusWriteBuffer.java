@@ -0,0 +1,193 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Write-behind buffer for item status changes. Writes from the processing threads are queued and a single
+ * flusher thread applies them in batches, one UPDATE per status and batch, each batch in one transaction.
+ *
+ * <p>A batch is flushed once it holds {@code item.processing.write-buffer.batch-size} writes or its oldest write
+ * has waited {@code flush-interval}. The queue holds at most {@code capacity} writes; beyond that, {@link #write}
+ * blocks the calling thread until the flusher catches up.</p>
+ *
+ * <p>The flusher thread only runs while {@code item.processing.write-buffer.enabled} is set. Once a batch has
+ * committed, its writes succeed even if a callback running after the commit fails.</p>
+ */
+@Slf4j
+@Component
+public class StatusWriteBuffer implements AutoCloseable {
+
+    private final ItemRepository itemRepository;
+    private final TransactionOperations transactionOperations;
+    private final ItemChangeLog changeLog;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    public StatusWriteBuffer(ItemRepository itemRepository,
+                             TransactionOperations transactionOperations,
+                             ItemChangeLog changeLog,
+                             ItemProcessingProperties processingProperties) {
+        ItemProcessingProperties.WriteBufferProperties settings = processingProperties.getWriteBuffer();
+        this.itemRepository = itemRepository;
+        this.transactionOperations = transactionOperations;
+        this.changeLog = changeLog;
+        this.batchSize = settings.getBatchSize();
+        this.flushIntervalNanos = settings.getFlushInterval().toNanos();
+        this.queue = new ArrayBlockingQueue<>(settings.getCapacity());
+        if (settings.isEnabled()) {
+            this.flusher = new Thread(this::runFlusher, "item-status-writer");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Queues a status change, blocking while the buffer is full.
+     *
+     * @param id     ID of the item
+     * @param status new status
+     * @return a future completed once the batch holding this write has committed, with true if the item was
+     * updated and false if it no longer exists
+     * @throws IllegalStateException if the buffer is disabled or closed
+     */
+    public CompletableFuture<Boolean> write(Long id, String status) {
+        if (flusher == null) {
+            throw new IllegalStateException("Status write buffer is disabled");
+        }
+        if (closed) {
+            throw new IllegalStateException("Status write buffer is closed");
+        }
+        PendingWrite write = new PendingWrite(id, status, new CompletableFuture<>());
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for room in the status write buffer", e);
+        }
+        return write.written();
+    }
+
+    /**
+     * @return number of writes waiting for a flush
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting writes and flushes the ones already queued.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Wait at most one interval after the first write for the batch to fill up
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Only close() ends the flusher, so queued writes are never dropped
+                Thread.interrupted();
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        Map<String, List<PendingWrite>> byStatus = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            byStatus.computeIfAbsent(write.status(), status -> new ArrayList<>()).add(write);
+        }
+        byStatus.forEach((status, writes) -> {
+            List<Long> ids = writes.stream().map(PendingWrite::id).toList();
+            AtomicBoolean committed = new AtomicBoolean();
+            AtomicReference<Set<Long>> existing = new AtomicReference<>();
+            try {
+                transactionOperations.executeWithoutResult(tx -> {
+                    int updated = itemRepository.updateStatusByIdIn(status, ids);
+                    // Only a short count pays for a second query, to find the items deleted meanwhile.
+                    // The updated rows stay locked until commit, so the answer matches the update.
+                    Set<Long> found = updated == ids.size() ? null : new HashSet<>(itemRepository.findIdsByIdIn(ids));
+                    // Recorded in the batch's transaction, so the change entries commit or roll back with it
+                    changeLog.statusChanged(found == null ? ids : ids.stream().filter(found::contains).toList(),
+                            status);
+                    existing.set(found);
+                    onCommit(committed);
+                });
+            } catch (RuntimeException e) {
+                if (!committed.get()) {
+                    writes.forEach(write -> write.written().completeExceptionally(e));
+                    return;
+                }
+                log.warn("Status batch of {} items committed, but a callback after the commit failed", ids.size(), e);
+            }
+            Set<Long> found = existing.get();
+            writes.forEach(write -> write.written().complete(found == null || found.contains(write.id())));
+        });
+    }
+
+    /**
+     * Sets {@code committed} once the current transaction has committed. The completion callbacks run even when
+     * an earlier callback after the commit throws; without a transaction the work is already committed.
+     */
+    private static void onCommit(AtomicBoolean committed) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed.set(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                committed.set(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private record PendingWrite(Long id, String status, CompletableFuture<Boolean> written) {
+    }
+}
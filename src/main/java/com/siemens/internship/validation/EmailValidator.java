@@ -0,0 +1,93 @@
+package com.siemens.internship.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Checks {@link ValidEmail} values in a single pass over the characters, without regex matching or allocation.
+ *
+ * <p>Accepts exactly the strings accepted by the constraint it replaced,
+ * {@code @Email(regexp = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$")}: the strings matching the pattern
+ * that also pass Hibernate Validator's own address checks:</p>
+ *
+ * <ul>
+ *     <li>the local part is at most 64 characters, and its dots separate non-empty atoms: no leading, trailing
+ *     or doubled dot;</li>
+ *     <li>the domain is at most 255 characters of dot-separated labels, each one non-empty, at most 63 characters
+ *     long, and neither starting nor ending with a hyphen.</li>
+ * </ul>
+ */
+public class EmailValidator implements ConstraintValidator<ValidEmail, CharSequence> {
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_DOMAIN_LENGTH = 255;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private static final boolean[] LOCAL_CHARS = new boolean[128];
+    private static final boolean[] DOMAIN_CHARS = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            LOCAL_CHARS[c] = DOMAIN_CHARS[c] = true;
+            LOCAL_CHARS[Character.toUpperCase(c)] = DOMAIN_CHARS[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            LOCAL_CHARS[c] = DOMAIN_CHARS[c] = true;
+        }
+        for (char c : "_!#$%&'*+/=?`{|}~^.-".toCharArray()) {
+            LOCAL_CHARS[c] = true;
+        }
+        DOMAIN_CHARS['.'] = DOMAIN_CHARS['-'] = true;
+    }
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null || value.length() == 0) {
+            // Missing values are reported by @NotEmpty
+            return true;
+        }
+        int length = value.length();
+        int i = 0;
+        // The start of each part counts as a dot, so a part cannot start with a dot or a hyphen
+        char previous = '.';
+        while (i < length && isIn(LOCAL_CHARS, value.charAt(i))) {
+            char c = value.charAt(i);
+            if (c == '.' && previous == '.') {
+                return false;
+            }
+            previous = c;
+            i++;
+        }
+        // The local part cannot contain '@', so the first character it rejects must be the separator
+        if (i == 0 || i == length || value.charAt(i) != '@' || previous == '.' || i > MAX_LOCAL_PART_LENGTH) {
+            return false;
+        }
+        int domainStart = ++i;
+        int labelStart = i;
+        previous = '.';
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (!isIn(DOMAIN_CHARS, c)) {
+                return false;
+            }
+            if (c == '.') {
+                // Ends a label: it must not be empty, end with a hyphen or be too long
+                if (previous == '.' || previous == '-' || i - labelStart > MAX_LABEL_LENGTH) {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (c == '-' && previous == '.') {
+                return false;
+            }
+            previous = c;
+        }
+        // An empty domain or a trailing dot ends on a dot, an invalid last label on a hyphen
+        return previous != '.' && previous != '-'
+                && length - labelStart <= MAX_LABEL_LENGTH
+                && length - domainStart <= MAX_DOMAIN_LENGTH;
+    }
+
+    private static boolean isIn(boolean[] table, char c) {
+        return c < table.length && table[c];
+    }
+}
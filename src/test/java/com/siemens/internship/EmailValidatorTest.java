@@ -0,0 +1,126 @@
+package com.siemens.internship;
+
+import com.siemens.internship.validation.EmailValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Email;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator reference;
+
+    // Every character class the pattern distinguishes, plus characters it must reject
+    private static final String ALPHABET = "aZ09_!#$%&'*+/=?`{|}~^.-@ \t\n\r\"(),:;<>[\\]éß\u0000\u007f\u00a0\u2028";
+
+    private final EmailValidator validator = new EmailValidator();
+
+    @BeforeAll
+    static void setUpReference() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        reference = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeReference() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void acceptsAndRejectsKnownAddresses() {
+        assertTrue(validator.isValid("john.doe@example.com", null));
+        assertTrue(validator.isValid("a+b!c@sub-domain.example", null));
+        assertTrue(validator.isValid("^`{|}~@1", null));
+
+        assertFalse(validator.isValid("invalid-email", null));
+        assertFalse(validator.isValid("@example.com", null));
+        assertFalse(validator.isValid("john@", null));
+        assertFalse(validator.isValid("john@doe@example.com", null));
+        assertFalse(validator.isValid("john@example.com\n", null));
+        assertFalse(validator.isValid("jöhn@example.com", null));
+        assertFalse(validator.isValid("john@ex_ample.com", null));
+        assertFalse(validator.isValid("a@.", null));
+        assertFalse(validator.isValid("a@b..c", null));
+        assertFalse(validator.isValid(".a@b", null));
+        assertFalse(validator.isValid("a.@b", null));
+        assertFalse(validator.isValid("a..b@c", null));
+        assertFalse(validator.isValid("a@b.", null));
+        assertFalse(validator.isValid("a@-b.c", null));
+        assertFalse(validator.isValid("a@b-.c", null));
+    }
+
+    @Test
+    void agreesWithReferenceConstraintOnLengthLimits() {
+        String label = "d".repeat(63);
+        for (String candidate : List.of(
+                "l".repeat(64) + "@example.com",
+                "l".repeat(65) + "@example.com",
+                "a@" + label + ".com",
+                "a@" + label + "d.com",
+                "a@" + String.join(".", label, label, label, label),
+                "a@b." + String.join(".", label, label, label, label))) {
+            assertEquals(isValidForReference(candidate), validator.isValid(candidate, null),
+                    () -> "Disagreement on \"" + candidate + "\"");
+        }
+    }
+
+    @Test
+    void leavesMissingValuesToNotEmpty() {
+        assertTrue(validator.isValid(null, null));
+        assertTrue(validator.isValid("", null));
+    }
+
+    @Test
+    void agreesWithReferenceConstraintOnRandomStrings() {
+        Random random = new Random(42);
+        for (int n = 0; n < 200_000; n++) {
+            String candidate = randomCandidate(random);
+            // The pattern also rejected the empty string, which is now left to @NotEmpty alone
+            boolean expected = candidate.isEmpty() || isValidForReference(candidate);
+            assertEquals(expected, validator.isValid(candidate, null),
+                    () -> "Disagreement on \"" + candidate + "\"");
+        }
+    }
+
+    private static boolean isValidForReference(String candidate) {
+        return reference.validateValue(ReferenceItem.class, "email", candidate).isEmpty();
+    }
+
+    /**
+     * Builds a short string from {@link #ALPHABET}, usually with one '@' in the middle so that both
+     * accepted and rejected addresses are frequent.
+     */
+    private static String randomCandidate(Random random) {
+        StringBuilder candidate = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            // Mostly characters the pattern accepts, so that valid addresses are not rare, and often the dots and
+            // hyphens the label rules are about
+            int kind = random.nextInt(8);
+            candidate.append(kind == 0
+                    ? ALPHABET.charAt(random.nextInt(ALPHABET.length()))
+                    : kind == 1 ? ".-".charAt(random.nextInt(2)) : ALPHABET.charAt(random.nextInt(25)));
+        }
+        if (random.nextBoolean()) {
+            candidate.insert(random.nextInt(candidate.length() + 1), '@');
+        }
+        return candidate.toString();
+    }
+
+    /**
+     * Holds the constraint Item.email was validated with before EmailValidator replaced it.
+     */
+    private static final class ReferenceItem {
+        @Email(regexp = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$")
+        private String email;
+    }
+}
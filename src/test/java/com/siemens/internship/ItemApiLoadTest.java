@@ -0,0 +1,245 @@
+package com.siemens.internship;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives a mixed CRUD and processing workload against the running application and reports latency percentiles
+ * and throughput per endpoint. Only runs with {@code -Ploadtest}; see pom.xml for the settings.
+ *
+ * <p>Requests are scheduled at a fixed rate and their latency is measured from the time they were scheduled
+ * to be sent, so a slow response also counts against the requests queued behind it.</p>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        // Each /process call only handles the items created since the previous one
+        "item.processing.mode=INCREMENTAL"})
+class ItemApiLoadTest {
+
+    private static final int SEED_ITEMS = 500;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Path REPORT_FILE = Path.of("target", "loadtest-report.json");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private List<Long> seededIds;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        int clients = Integer.getInteger("loadtest.clients", 32);
+
+        seededIds = itemRepository.saveAll(IntStream.range(0, SEED_ITEMS)
+                        .mapToObj(i -> new Item(null, "Seed" + i, "Seeded item", "NEW", "seed" + i + "@example.com"))
+                        .toList())
+                .stream().map(Item::getId).toList();
+
+        Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder());
+        }
+
+        long totalRequests = rate * duration.toSeconds();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        ExecutorService clientPool = Executors.newFixedThreadPool(clients);
+        for (int client = 0; client < clients; client++) {
+            int first = client;
+            // Client c sends requests c, c + clients, c + 2 * clients, ... of the schedule
+            clientPool.execute(() -> {
+                for (long n = first; n < totalRequests; n += clients) {
+                    long scheduledAt = start + n * intervalNanos;
+                    LockSupport.parkNanos(scheduledAt - System.nanoTime());
+                    Operation operation = Operation.pick(ThreadLocalRandom.current().nextInt(100));
+                    boolean ok = send(operation);
+                    recorders.get(operation).record(System.nanoTime() - scheduledAt, ok);
+                }
+            });
+        }
+        clientPool.shutdown();
+        assertTrue(clientPool.awaitTermination(duration.toSeconds() + REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS),
+                "Load test did not finish in time");
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<EndpointReport> endpoints = recorders.entrySet().stream()
+                .map(entry -> entry.getValue().report(entry.getKey().label, elapsedSeconds))
+                .toList();
+        LoadTestReport report = new LoadTestReport(rate, duration.toString(), clients, elapsedSeconds, endpoints);
+        print(report);
+        Files.createDirectories(REPORT_FILE.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE.toFile(), report);
+
+        assertEquals(totalRequests, endpoints.stream().mapToLong(EndpointReport::requests).sum());
+        assertEquals(0, endpoints.stream().mapToLong(EndpointReport::errors).sum(),
+                "No request may fail or get a server error");
+    }
+
+    /**
+     * Sends one request of the given kind.
+     *
+     * @return false if the request failed or got a server error
+     */
+    private boolean send(Operation operation) {
+        try {
+            HttpResponse<String> response = httpClient.send(request(operation), HttpResponse.BodyHandlers.ofString());
+            if (operation == Operation.CREATE_ITEM && response.statusCode() == 201) {
+                createdIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+            }
+            return response.statusCode() < 500;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private HttpRequest request(Operation operation) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long seededId = seededIds.get(random.nextInt(seededIds.size()));
+        HttpRequest.Builder builder = switch (operation) {
+            case GET_ITEM -> HttpRequest.newBuilder(uri("/" + seededId)).GET();
+            case LIST_ITEMS -> HttpRequest.newBuilder(uri("?limit=50&after=" + random.nextLong(seededId))).GET();
+            case CREATE_ITEM -> HttpRequest.newBuilder(uri("")).POST(json(
+                    new Item(null, "Load", "Created by the load test", "NEW", "load@example.com")));
+            case UPDATE_ITEM -> HttpRequest.newBuilder(uri("/" + seededId)).PUT(json(
+                    new Item(null, "Updated", "Updated by the load test", "NEW", "update@example.com")));
+            case DELETE_ITEM -> {
+                // Only delete items created by the load test, so the seeded ones stay readable
+                Long createdId = createdIds.poll();
+                yield HttpRequest.newBuilder(uri("/" + (createdId == null ? Long.MAX_VALUE : createdId))).DELETE();
+            }
+            case PROCESS -> HttpRequest.newBuilder(uri("/process")).GET();
+        };
+        return builder.timeout(REQUEST_TIMEOUT).header("Content-Type", "application/json").build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/items" + path);
+    }
+
+    private HttpRequest.BodyPublisher json(Item item) throws Exception {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(item));
+    }
+
+    private static void print(LoadTestReport report) {
+        System.out.printf("Load test: %d req/s for %s from %d clients, %.1f s%n",
+                report.rate(), report.duration(), report.clients(), report.elapsedSeconds());
+        System.out.printf("%-28s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms");
+        for (EndpointReport endpoint : report.endpoints()) {
+            System.out.printf("%-28s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.endpoint(), endpoint.requests(),
+                    endpoint.errors(), endpoint.throughput(), endpoint.p50Ms(), endpoint.p95Ms(), endpoint.p99Ms(),
+                    endpoint.p999Ms());
+        }
+    }
+
+    /**
+     * Request kinds of the workload, with their share of all requests in percent.
+     */
+    private enum Operation {
+        GET_ITEM("GET /api/items/{id}", 40),
+        LIST_ITEMS("GET /api/items", 15),
+        CREATE_ITEM("POST /api/items", 20),
+        UPDATE_ITEM("PUT /api/items/{id}", 15),
+        DELETE_ITEM("DELETE /api/items/{id}", 9),
+        PROCESS("GET /api/items/process", 1);
+
+        private final String label;
+        private final int percent;
+
+        Operation(String label, int percent) {
+            this.label = label;
+            this.percent = percent;
+        }
+
+        static Operation pick(int roll) {
+            for (Operation operation : values()) {
+                roll -= operation.percent;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return GET_ITEM;
+        }
+    }
+
+    /**
+     * Latencies and errors of one endpoint.
+     */
+    private static final class Recorder {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long latencyNanos, boolean ok) {
+            latencies.add(latencyNanos);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        EndpointReport report(String endpoint, double elapsedSeconds) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return new EndpointReport(endpoint, sorted.length, errors.get(), sorted.length / elapsedSeconds,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.95), percentileMs(sorted, 0.99),
+                    percentileMs(sorted, 0.999));
+        }
+
+        // Nearest-rank percentile
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1e6;
+        }
+    }
+
+    record EndpointReport(String endpoint, long requests, long errors, double throughput,
+                          double p50Ms, double p95Ms, double p99Ms, double p999Ms) {
+    }
+
+    record LoadTestReport(int rate, String duration, int clients, double elapsedSeconds,
+                          List<EndpointReport> endpoints) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.ItemLoaderProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemBatchLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItemBatchLoaderTest {
+
+    private ItemRepository itemRepository;
+    private ItemLoaderProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private ItemBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        // Every even id exists
+        when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .filter(id -> id % 2 == 0)
+                    .map(id -> new Item(id, "Item" + id, "Desc", "NEW", "item" + id + "@example.com"))
+                    .toList();
+        });
+        properties = new ItemLoaderProperties();
+        properties.setMaxBatchSize(10);
+        properties.setWindow(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        loader.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void resolvesLookupsInBatchesOfAtMostMaxBatchSize() throws Exception {
+        loader = new ItemBatchLoader(itemRepository, properties, meterRegistry, executor);
+
+        List<CompletableFuture<Optional<Item>>> lookups = LongStream.rangeClosed(1, 25)
+                .mapToObj(loader::load)
+                .toList();
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < lookups.size(); i++) {
+            long id = i + 1;
+            assertEquals(id % 2 == 0, lookups.get(i).join().isPresent(), "Lookup of item " + id);
+            lookups.get(i).join().ifPresent(item -> assertEquals(id, item.getId()));
+        }
+        verify(itemRepository, atLeast(3)).findAllById(argThat(ids -> ((Collection<?>) ids).size() <= 10));
+        verify(itemRepository, never()).findAllById(argThat(ids -> ((Collection<?>) ids).size() > 10));
+        verify(itemRepository, never()).findById(anyLong());
+        assertEquals(25, meterRegistry.get("item.lookup.wait").timer().count());
+        assertEquals(25.0, meterRegistry.get("item.lookup.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void sendsAPartialBatchAfterTheWindow() throws Exception {
+        loader = new ItemBatchLoader(itemRepository, properties, meterRegistry, executor);
+
+        long start = System.nanoTime();
+        Optional<Item> item = loader.load(2L).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2L, item.orElseThrow().getId());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40),
+                "A lone lookup should wait for the window before its query is sent");
+        verify(itemRepository).findAllById(List.of(2L));
+    }
+
+    @Test
+    void aSlowQueryDoesNotHoldBackTheNextBatch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.findAllById(List.of(2L))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new Item(2L, "Item2", "Desc", "NEW", "item2@example.com"));
+        });
+        loader = new ItemBatchLoader(itemRepository, properties, meterRegistry, executor);
+
+        CompletableFuture<Optional<Item>> slow = loader.load(2L);
+        verify(itemRepository, timeout(5000)).findAllById(List.of(2L));
+        CompletableFuture<Optional<Item>> next = loader.load(4L);
+
+        assertEquals(4L, next.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertFalse(slow.isDone());
+        release.countDown();
+        assertEquals(2L, slow.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+    }
+
+    @Test
+    void queriesAnIdLookedUpTwiceInABatchOnce() throws Exception {
+        loader = new ItemBatchLoader(itemRepository, properties, meterRegistry, executor);
+
+        CompletableFuture<Optional<Item>> first = loader.load(4L);
+        CompletableFuture<Optional<Item>> second = loader.load(4L);
+
+        assertEquals(4L, first.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertEquals(4L, second.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        verify(itemRepository).findAllById(argThat(ids -> ((Collection<?>) ids).size() == 1));
+    }
+
+    @Test
+    void failedQueryFailsEveryLookupOfItsBatch() {
+        doThrow(new RuntimeException("DB Error")).when(itemRepository).findAllById(anyIterable());
+        loader = new ItemBatchLoader(itemRepository, properties, meterRegistry, executor);
+
+        CompletableFuture<Optional<Item>> first = loader.load(1L);
+        CompletableFuture<Optional<Item>> second = loader.load(2L);
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertEquals("DB Error", error.getCause().getMessage());
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void disabledLoaderQueriesEveryLookupOnItsOwn() throws Exception {
+        properties.setEnabled(false);
+        when(itemRepository.findById(3L)).thenReturn(Optional.empty());
+        loader = new ItemBatchLoader(itemRepository, properties, meterRegistry, executor);
+
+        assertTrue(loader.load(3L).get(5, TimeUnit.SECONDS).isEmpty());
+        verify(itemRepository).findById(3L);
+        verify(itemRepository, never()).findAllById(anyIterable());
+    }
+}
@@ -0,0 +1,91 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.ItemChangeProperties;
+import com.siemens.internship.controller.ItemChangeController;
+import com.siemens.internship.model.ItemChange;
+import com.siemens.internship.model.ItemChangePage;
+import com.siemens.internship.service.ItemChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItemChangeControllerTest {
+
+    private ItemChangeLog changeLog;
+    private ItemChangeProperties changeProperties;
+    private ItemChangeController controller;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = mock(ItemChangeLog.class);
+        changeProperties = new ItemChangeProperties();
+        controller = new ItemChangeController(changeLog, changeProperties);
+    }
+
+    @Test
+    void getChanges_returnsThePendingChanges() {
+        ItemChangePage page = new ItemChangePage(
+                List.of(new ItemChange(6L, 1L, ItemChange.Type.CREATED, "NEW", Instant.now())), 6L, false);
+        when(changeLog.changesSince(5L, 100)).thenReturn(page);
+
+        ResponseEntity<?> response = result(controller.getChanges(5L, 100, 0));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(changeLog, never()).awaitChangesSince(anyLong(), anyInt());
+    }
+
+    @Test
+    void getChanges_withWaitLongPolls() {
+        CompletableFuture<ItemChangePage> pending = new CompletableFuture<>();
+        when(changeLog.awaitChangesSince(5L, 100)).thenReturn(pending);
+
+        DeferredResult<ResponseEntity<ItemChangePage>> result = controller.getChanges(5L, 100, 10);
+        assertFalse(result.hasResult());
+        ItemChangePage page = new ItemChangePage(List.of(), 5L, false);
+        pending.complete(page);
+
+        assertEquals(HttpStatus.OK, result(result).getStatusCode());
+    }
+
+    @Test
+    void getChanges_afterCompactedChangesIsGone() {
+        ItemChangePage expired = new ItemChangePage(List.of(), 42L, true);
+        when(changeLog.changesSince(1L, 100)).thenReturn(expired);
+
+        ResponseEntity<?> response = result(controller.getChanges(1L, 100, 0));
+
+        assertEquals(HttpStatus.GONE, response.getStatusCode());
+        assertEquals(expired, response.getBody());
+    }
+
+    @Test
+    void getChanges_rejectsInvalidParameters() {
+        assertEquals(HttpStatus.BAD_REQUEST, result(controller.getChanges(-1L, 100, 0)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, result(controller.getChanges(0L, 0, 0)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, result(controller.getChanges(0L, 1001, 0)).getStatusCode());
+        verifyNoInteractions(changeLog);
+    }
+
+    @Test
+    void getChanges_whenTheFeedIsDisabledIsNotFound() {
+        changeProperties.setEnabled(false);
+
+        assertEquals(HttpStatus.NOT_FOUND, result(controller.getChanges(0L, 100, 0)).getStatusCode());
+        verifyNoInteractions(changeLog);
+    }
+
+    private static ResponseEntity<?> result(DeferredResult<ResponseEntity<ItemChangePage>> result) {
+        assertTrue(result.hasResult());
+        return (ResponseEntity<?>) result.getResult();
+    }
+}
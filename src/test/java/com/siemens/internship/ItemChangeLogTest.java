@@ -0,0 +1,159 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.ItemChangeProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemChange;
+import com.siemens.internship.model.ItemChangeCompaction;
+import com.siemens.internship.model.ItemChangePage;
+import com.siemens.internship.repository.ItemChangeCompactionRepository;
+import com.siemens.internship.repository.ItemChangeRepository;
+import com.siemens.internship.service.ItemChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItemChangeLogTest {
+
+    private ItemChangeRepository changeRepository;
+    private ItemChangeCompactionRepository compactionRepository;
+    private ItemChangeProperties changeProperties;
+    private ItemChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        changeRepository = mock(ItemChangeRepository.class);
+        compactionRepository = mock(ItemChangeCompactionRepository.class);
+        changeProperties = new ItemChangeProperties();
+        changeLog = new ItemChangeLog(changeRepository, compactionRepository, changeProperties, Runnable::run);
+    }
+
+    @Test
+    void recordsTheStatusChangesOfAChunkWithOneWrite() {
+        changeLog.statusChanged(List.of(1L, 2L), "PROCESSED");
+
+        verify(changeRepository).saveAll(argThat((List<ItemChange> written) ->
+                written.stream().map(ItemChange::getItemId).toList().equals(List.of(1L, 2L))
+                        && written.stream().allMatch(change -> change.getType() == ItemChange.Type.STATUS_CHANGED
+                        && "PROCESSED".equals(change.getStatus()))));
+    }
+
+    @Test
+    void disabledFeedRecordsNothing() {
+        changeProperties.setEnabled(false);
+
+        changeLog.created(new Item(1L, "Item", "Desc", "NEW", "email@example.com"));
+        changeLog.deleted(1L);
+
+        verifyNoInteractions(changeRepository);
+    }
+
+    @Test
+    void changesSinceReturnsTheCursorOfTheLastChange() {
+        when(changeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(4L), any()))
+                .thenReturn(List.of(change(5L), change(6L)));
+
+        ItemChangePage page = changeLog.changesSince(4L, 10);
+
+        assertEquals(List.of(5L, 6L), page.changes().stream().map(ItemChange::getSequence).toList());
+        assertEquals(6L, page.next());
+        assertFalse(page.expired());
+        assertEquals(9L, changeLog.changesSince(9L, 10).next(), "An empty page keeps the cursor");
+    }
+
+    @Test
+    void pageStopsBeforeAChangeWhoseTransactionIsStillOpen() {
+        when(changeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ItemChange> changes = invocation.getArgument(0);
+            changes.forEach(change -> change.setSequence(5L));
+            return changes;
+        });
+        when(changeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(4L), any()))
+                .thenReturn(List.of(change(5L), change(6L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            changeLog.deleted(7L);
+            assertTrue(changeLog.changesSince(4L, 10).changes().isEmpty(),
+                    "Change 6 may not be returned while change 5 is uncommitted");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(6L, changeLog.changesSince(4L, 10).next());
+    }
+
+    @Test
+    void changesSinceACompactedSequenceAreExpired() {
+        when(compactionRepository.findById(ItemChangeCompaction.ID))
+                .thenReturn(Optional.of(new ItemChangeCompaction(ItemChangeCompaction.ID, 10L, Instant.now())));
+        when(changeRepository.findLastSequence()).thenReturn(20L);
+
+        ItemChangePage page = changeLog.changesSince(3L, 10);
+
+        assertTrue(page.expired());
+        assertTrue(page.changes().isEmpty());
+        assertEquals(20L, page.next());
+        assertFalse(changeLog.changesSince(10L, 10).expired());
+    }
+
+    @Test
+    void longPollCompletesOnTheNextWrite() throws Exception {
+        when(changeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(0L), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(change(1L)));
+
+        CompletableFuture<ItemChangePage> page = changeLog.awaitChangesSince(0L, 10);
+        assertFalse(page.isDone());
+        changeLog.deleted(7L);
+
+        assertEquals(1L, page.get(5, TimeUnit.SECONDS).next());
+    }
+
+    @Test
+    void compactionMovesTheWatermarkBeforeDeleting() {
+        when(changeRepository.findLastSequenceBefore(any())).thenReturn(7L);
+
+        changeLog.compact();
+
+        InOrder inOrder = inOrder(compactionRepository, changeRepository);
+        inOrder.verify(compactionRepository).save(argThat(compaction ->
+                compaction.getId() == ItemChangeCompaction.ID && compaction.getCompactedThrough() == 7L));
+        inOrder.verify(changeRepository).deleteUpTo(7L);
+    }
+
+    @Test
+    void compactionWithNothingExpiredDeletesNothing() {
+        when(changeRepository.findLastSequenceBefore(any())).thenReturn(null);
+
+        changeLog.compact();
+
+        verify(changeRepository, never()).deleteUpTo(anyLong());
+        verifyNoInteractions(compactionRepository);
+    }
+
+    @Test
+    void disabledFeedIsNotCompacted() {
+        changeProperties.setEnabled(false);
+
+        changeLog.compact();
+
+        verifyNoInteractions(changeRepository, compactionRepository);
+    }
+
+    private static ItemChange change(long sequence) {
+        return new ItemChange(sequence, sequence, ItemChange.Type.UPDATED, "NEW", Instant.now());
+    }
+}
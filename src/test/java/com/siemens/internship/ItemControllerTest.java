@@ -1,55 +1,151 @@
 package com.siemens.internship;
 
+import com.siemens.internship.config.ItemProcessingProperties;
 import com.siemens.internship.controller.ItemController;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemCacheStats;
+import com.siemens.internship.model.ItemPage;
+import com.siemens.internship.model.ItemStats;
+import com.siemens.internship.model.SnapshotResult;
+import com.siemens.internship.model.ProcessingResult;
+import com.siemens.internship.model.ProcessingSummary;
+import com.siemens.internship.model.BulkImportResult;
+import com.siemens.internship.service.ItemExportService;
+import com.siemens.internship.service.ItemImportService;
+import com.siemens.internship.service.ItemSnapshotService;
 import com.siemens.internship.service.ItemService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.context.request.async.DeferredResult;
-
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 class ItemControllerTest {
 
     private ItemService itemService;
+    private ItemExportService itemExportService;
+    private ItemImportService itemImportService;
+    private ItemSnapshotService itemSnapshotService;
     private ItemController itemController;
 
     @BeforeEach
     void setUp() {
         itemService = mock(ItemService.class);
-        itemController = new ItemController(itemService);
+        itemExportService = mock(ItemExportService.class);
+        itemImportService = mock(ItemImportService.class);
+        itemSnapshotService = mock(ItemSnapshotService.class);
+        itemController = new ItemController(itemService, itemExportService, itemImportService, itemSnapshotService,
+                new ItemProcessingProperties());
     }
 
     @Test
     void getAllItems_returnsItems() {
         List<Item> mockItems = List.of(new Item(1L, "Item1", "Desc", "NEW", "test@example.com"));
-        when(itemService.findAll()).thenReturn(mockItems);
+        ItemPage page = new ItemPage(mockItems, null);
+        when(itemService.findPage(null, 100, null)).thenReturn(page);
 
-        ResponseEntity<List<Item>> response = itemController.getAllItems();
+        ResponseEntity<ItemPage> response = itemController.getAllItems(null, 100, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(mockItems, response.getBody());
+        assertEquals(page, response.getBody());
     }
 
     @Test
     void getAllItems_returnsNoContent() {
-        when(itemService.findAll()).thenReturn(List.of());
+        when(itemService.findPage(null, 100, null)).thenReturn(new ItemPage(List.of(), null));
 
-        ResponseEntity<List<Item>> response = itemController.getAllItems();
+        ResponseEntity<ItemPage> response = itemController.getAllItems(null, 100, null);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
     }
 
+    @Test
+    void getAllItems_passesCursorThrough() {
+        ItemPage page = new ItemPage(List.of(new Item(6L, "Item6", "Desc", "NEW", "test@example.com")), 6L);
+        when(itemService.findPage(5L, 1, null)).thenReturn(page);
+
+        ResponseEntity<ItemPage> response = itemController.getAllItems(5L, 1, null);
+
+        assertEquals(6L, response.getBody().next());
+        verify(itemService, never()).findAll();
+    }
+
+    @Test
+    void getAllItems_filtersByStatus() {
+        ItemPage page = new ItemPage(List.of(new Item(2L, "Item2", "Desc", "NEW", "test@example.com")), null);
+        when(itemService.findPage(null, 100, "NEW")).thenReturn(page);
+
+        ResponseEntity<ItemPage> response = itemController.getAllItems(null, 100, "NEW");
+
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void writeSnapshot_returnsWrittenCount() throws Exception {
+        SnapshotResult result = new SnapshotResult(3, 120, "data/items.snapshot");
+        when(itemSnapshotService.writeSnapshot()).thenReturn(result);
+
+        ResponseEntity<SnapshotResult> response = itemController.writeSnapshot();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void getStats_returnsCountsByStatus() {
+        ItemStats stats = new ItemStats(3, List.of(new ItemStats.StatusCount("NEW", 1),
+                new ItemStats.StatusCount("PROCESSED", 2)));
+        when(itemService.stats()).thenReturn(stats);
+
+        ResponseEntity<ItemStats> response = itemController.getStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+    }
+
+    @Test
+    void getAllItems_rejectsInvalidLimit() {
+        assertEquals(HttpStatus.BAD_REQUEST, itemController.getAllItems(null, 0, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, itemController.getAllItems(null, 1001, null).getStatusCode());
+    }
+
     @Test
     void createItem_validItem_returnsCreated() {
         Item item = new Item(null, "Item", "Desc", "NEW", "email@example.com");
@@ -100,67 +196,105 @@ class ItemControllerTest {
         Item item = new Item(null, "Updated", "Desc", "UPDATED", "email@example.com");
         Item updatedItem = new Item(1L, "Updated", "Desc", "UPDATED", "email@example.com");
 
-        when(itemService.findById(1L)).thenReturn(Optional.of(updatedItem));
-        when(itemService.save(any(Item.class))).thenReturn(updatedItem);
+        when(itemService.update(1L, item)).thenReturn(Optional.of(updatedItem));
 
         ResponseEntity<Item> response = itemController.updateItem(1L, item);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(updatedItem, response.getBody());
+        verify(itemService, never()).findById(anyLong());
     }
 
     @Test
     void updateItem_notFound() {
         Item item = new Item();
-        when(itemService.findById(1L)).thenReturn(Optional.empty());
+        when(itemService.update(1L, item)).thenReturn(Optional.empty());
 
         ResponseEntity<Item> response = itemController.updateItem(1L, item);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    @Test
+    void updateItem_staleVersionReturnsConflict() {
+        Item item = new Item(null, "Updated", "Desc", "UPDATED", "email@example.com", 1L);
+        when(itemService.update(1L, item)).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        ResponseEntity<Item> response = itemController.updateItem(1L, item);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
     @Test
     void deleteItem_found() {
-        Item item = new Item(1L, "ToDelete", "Desc", "OLD", "email@example.com");
-        when(itemService.findById(1L)).thenReturn(Optional.of(item));
-        doNothing().when(itemService).deleteById(1L);
+        when(itemService.deleteById(1L, null)).thenReturn(true);
 
-        ResponseEntity<Void> response = itemController.deleteItem(1L);
+        ResponseEntity<Void> response = itemController.deleteItem(1L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(itemService, never()).findById(anyLong());
     }
 
     @Test
     void deleteItem_notFound() {
-        when(itemService.findById(1L)).thenReturn(Optional.empty());
+        when(itemService.deleteById(1L, null)).thenReturn(false);
 
-        ResponseEntity<Void> response = itemController.deleteItem(1L);
+        ResponseEntity<Void> response = itemController.deleteItem(1L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    @Test
+    void deleteItem_staleVersionReturnsConflict() {
+        when(itemService.deleteById(1L, 2L)).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        ResponseEntity<Void> response = itemController.deleteItem(1L, 2L);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
     @Test
     void processItems_success() {
         List<Item> processed = List.of(new Item(1L, "Done", "Processed", "PROCESSED", "email@example.com"));
-        CompletableFuture<List<Item>> future = CompletableFuture.completedFuture(processed);
+        ProcessingResult run = new ProcessingResult(processed,
+                List.of(new ProcessingResult.Failure(2L, "Failed to process item 2: DB Error")), 0, false,
+                Instant.now(), 120);
+        CompletableFuture<ProcessingResult> future = CompletableFuture.completedFuture(run);
 
         when(itemService.processItemsAsync()).thenReturn(future);
 
-        DeferredResult<ResponseEntity<List<Item>>> result = itemController.processItems();
+        DeferredResult<ResponseEntity<ProcessingResult>> result = itemController.processItems();
         future.join();
 
         assertNotNull(result.getResult());
-        assertEquals(HttpStatus.OK, ((ResponseEntity<?>) result.getResult()).getStatusCode());
+        ResponseEntity<?> response = (ResponseEntity<?>) result.getResult();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        // A failed item is reported next to the processed ones instead of failing the request
+        assertEquals(run, response.getBody());
+    }
+
+    @Test
+    void processItems_circuitOpenReturnsServiceUnavailableWithPartialResult() {
+        ProcessingResult run = new ProcessingResult(List.of(),
+                List.of(new ProcessingResult.Failure(1L, "Failed to process item 1: DB Error")), 9, true,
+                Instant.now(), 150);
+        when(itemService.processItemsAsync()).thenReturn(CompletableFuture.completedFuture(run));
+
+        DeferredResult<ResponseEntity<ProcessingResult>> result = itemController.processItems();
+
+        ResponseEntity<?> response = (ResponseEntity<?>) result.getResult();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(run, response.getBody());
     }
 
     @Test
     void processItems_failure() {
-        CompletableFuture<List<Item>> failedFuture = new CompletableFuture<>();
+        CompletableFuture<ProcessingResult> failedFuture = new CompletableFuture<>();
         failedFuture.completeExceptionally(new RuntimeException("Failure"));
 
         when(itemService.processItemsAsync()).thenReturn(failedFuture);
 
-        DeferredResult<ResponseEntity<List<Item>>> result = itemController.processItems();
+        DeferredResult<ResponseEntity<ProcessingResult>> result = itemController.processItems();
         failedFuture.handle((r, ex) -> null);
 
         // wait briefly for async handling
@@ -170,4 +304,135 @@ class ItemControllerTest {
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ((ResponseEntity<?>) result.getResult()).getStatusCode());
     }
+
+    @Test
+    void processItemsStream_emitsItemsAndSummary() throws Exception {
+        // Items are reported from several worker threads at once
+        when(itemService.processItemsStreaming(any())).thenAnswer(invocation -> {
+            Consumer<Item> onProcessed = invocation.getArgument(0);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                long first = w * 25L;
+                Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (long id = first + 1; id <= first + 25; id++) {
+                        onProcessed.accept(new Item(id, "Item " + id, "Processed", "PROCESSED", "e@example.com"));
+                    }
+                });
+                worker.start();
+                workers.add(worker);
+            }
+            start.countDown();
+            return CompletableFuture.runAsync(() -> workers.forEach(worker -> {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            })).thenApply(v -> new ProcessingSummary(100, 0, 0));
+        });
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(itemController).build();
+
+        MvcResult result = mockMvc.perform(get("/api/items/process/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5_000);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> events = List.of(result.getResponse().getContentAsString().split("\n\n"));
+        assertEquals(101, events.size());
+        Set<Long> ids = new HashSet<>();
+        for (String event : events.subList(0, 100)) {
+            assertTrue(event.startsWith("event:item\ndata:"), "Interleaved or misplaced event: " + event);
+            Item item = objectMapper.readValue(event.substring("event:item\ndata:".length()), Item.class);
+            assertEquals("PROCESSED", item.getStatus());
+            ids.add(item.getId());
+        }
+        assertEquals(LongStream.rangeClosed(1, 100).boxed().collect(Collectors.toSet()), ids);
+        String summary = events.get(100);
+        assertTrue(summary.startsWith("event:summary\ndata:"), "The summary must come last: " + summary);
+        assertEquals(new ProcessingSummary(100, 0, 0), objectMapper.readValue(
+                summary.substring("event:summary\ndata:".length()), ProcessingSummary.class));
+    }
+
+    @Test
+    void processItemsStream_cancelsTheRunWhenTheClientGoesAway() throws Exception {
+        CompletableFuture<ProcessingSummary> run = new CompletableFuture<>();
+        AtomicReference<Consumer<Item>> onProcessed = new AtomicReference<>();
+        when(itemService.processItemsStreaming(any())).thenAnswer(invocation -> {
+            onProcessed.set(invocation.getArgument(0));
+            return run;
+        });
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(itemController).build();
+
+        MvcResult result = mockMvc.perform(get("/api/items/process/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+        }
+
+        assertTrue(run.isCancelled());
+        // Items reported after the failure are dropped
+        onProcessed.get().accept(new Item(1L, "Item1", "Processed", "PROCESSED", "e@example.com"));
+        assertEquals("", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void exportItems_csv() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        itemController.exportItems("csv", response);
+
+        assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        verify(itemExportService).export(eq(ItemExportService.Format.CSV), any());
+    }
+
+    @Test
+    void exportItems_unknownFormat() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(ResponseStatusException.class, () -> itemController.exportItems("xml", response));
+    }
+
+    @Test
+    void createItems_partialSuccessReturnsCreated() throws Exception {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        BulkImportResult result = new BulkImportResult(2,
+                List.of(new BulkImportResult.Error(1, List.of("Email is not valid"))));
+        when(itemImportService.importItems(body)).thenReturn(result);
+
+        ResponseEntity<BulkImportResult> response = itemController.createItems(body);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void createItems_nothingValidReturnsBadRequest() throws Exception {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(itemImportService.importItems(body)).thenReturn(new BulkImportResult(0,
+                List.of(new BulkImportResult.Error(0, List.of("Email cannot be empty")))));
+
+        ResponseEntity<BulkImportResult> response = itemController.createItems(body);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void getCacheStats_returnsCounters() {
+        ItemCacheStats stats = new ItemCacheStats(3, 1, 0, 0.75, 1);
+        when(itemService.cacheStats()).thenReturn(stats);
+
+        ResponseEntity<ItemCacheStats> response = itemController.getCacheStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+    }
 }
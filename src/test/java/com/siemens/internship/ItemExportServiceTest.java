@@ -0,0 +1,71 @@
+package com.siemens.internship;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemExportService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class ItemExportServiceTest {
+
+    private ItemRepository itemRepository;
+    private EntityManager entityManager;
+    private ItemExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        entityManager = mock(EntityManager.class);
+        exportService = new ItemExportService(itemRepository, entityManager, new ObjectMapper());
+    }
+
+    @Test
+    void exportNdjsonWritesOneObjectPerLine() throws Exception {
+        when(itemRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(
+                new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com"),
+                new Item(2L, "Item2", "Desc2", "PROCESSED", "email2@example.com")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.export(ItemExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        assertEquals("Item1", new ObjectMapper().readValue(lines[0], Item.class).getName());
+        assertEquals("PROCESSED", new ObjectMapper().readValue(lines[1], Item.class).getStatus());
+    }
+
+    @Test
+    void exportCsvQuotesSpecialCharacters() throws Exception {
+        when(itemRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(
+                new Item(1L, "Item, one", "Says \"hi\"", null, "email1@example.com")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(ItemExportService.Format.CSV, out);
+
+        assertEquals("id,name,description,status,email\r\n"
+                        + "1,\"Item, one\",\"Says \"\"hi\"\"\",,email1@example.com\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportClearsPersistenceContextOncePerFetchBatch() throws Exception {
+        int count = ItemRepository.STREAM_FETCH_SIZE * 2 + 1;
+        when(itemRepository.streamAllByOrderByIdAsc()).thenReturn(LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new Item(id, "Item" + id, "Desc", "NEW", "email@example.com")));
+
+        exportService.export(ItemExportService.Format.CSV, new ByteArrayOutputStream());
+
+        verify(entityManager, times(2)).clear();
+    }
+}
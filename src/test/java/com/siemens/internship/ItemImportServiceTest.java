@@ -0,0 +1,166 @@
+package com.siemens.internship;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.config.ItemImportProperties;
+import com.siemens.internship.model.BulkImportResult;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemChangeLog;
+import com.siemens.internship.service.ItemImportService;
+import com.siemens.internship.service.ItemService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemImportServiceTest {
+
+    private ItemRepository itemRepository;
+    private ValidatorFactory validatorFactory;
+    private ItemImportProperties importProperties;
+    private ItemService itemService;
+    private EntityManager entityManager;
+    private ItemImportService importService;
+    private final List<Integer> insertedBatchSizes = new ArrayList<>();
+    private final List<Item> insertedItems = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Item> batch = new ArrayList<>(invocation.getArgument(0));
+            insertedBatchSizes.add(batch.size());
+            insertedItems.addAll(batch);
+            return batch;
+        });
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importProperties = new ItemImportProperties();
+        importProperties.setBatchSize(2);
+        itemService = mock(ItemService.class);
+        entityManager = mock(EntityManager.class);
+        importService = new ItemImportService(itemRepository, entityManager, validatorFactory.getValidator(),
+                importProperties, new ObjectMapper(), mock(ItemChangeLog.class),
+                TransactionOperations.withoutTransaction(), itemService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importJsonArrayInBatches() throws Exception {
+        String body = """
+                [{"name":"A","email":"a@example.com"},
+                 {"name":"B","email":"b@example.com"},
+                 {"name":"C","email":"c@example.com"}]""";
+
+        BulkImportResult result = importService.importItems(stream(body));
+
+        assertEquals(3, result.created());
+        assertTrue(result.errors().isEmpty());
+        assertEquals(List.of(2, 1), insertedBatchSizes);
+        // A processing run in progress hears of every inserted batch
+        verify(itemService, times(2)).itemsCreated();
+        // Each batch is detached once written, so the persistence context does not grow with the import
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importNdjsonReportsInvalidElementsWithoutAborting() throws Exception {
+        String body = """
+                {"name":"A","email":"a@example.com"}
+                {"name":"B","email":"not-an-email"}
+                {"name":"C","email":""}
+                {"id":99,"name":"D","email":"d@example.com"}
+                """;
+
+        BulkImportResult result = importService.importItems(stream(body));
+
+        assertEquals(2, result.created());
+        assertEquals(List.of(1L, 2L), result.errors().stream().map(BulkImportResult.Error::index).toList());
+        assertEquals(List.of("Email is not valid"), result.errors().get(0).messages());
+        assertTrue(insertedItems.stream().allMatch(item -> item.getId() == null),
+                "Client-supplied ids must be dropped before insert");
+    }
+
+    @Test
+    void malformedJsonKeepsItemsReadSoFar() throws Exception {
+        String body = """
+                {"name":"A","email":"a@example.com"}
+                {"name":"B",
+                """;
+
+        BulkImportResult result = importService.importItems(stream(body));
+
+        assertEquals(1, result.created());
+        assertEquals(1, result.errors().size());
+        assertEquals(1L, result.errors().get(0).index());
+    }
+
+    @Test
+    void malformedNdjsonLineIsRejectedAndTheNextLinesAreImported() throws Exception {
+        String body = """
+                {"name":"A","email":"a@example.com"}
+                {"name":"B",
+
+                {"name":"C","email":"c@example.com"} {"name":"D"}
+                {"name":"E","email":"e@example.com"}
+                """;
+
+        BulkImportResult result = importService.importItems(stream(body));
+
+        assertEquals(2, result.created());
+        assertEquals(List.of(1L, 2L), result.errors().stream().map(BulkImportResult.Error::index).toList());
+        assertEquals(List.of("A", "E"), insertedItems.stream().map(Item::getName).toList());
+    }
+
+    @Test
+    void arrayElementThatIsNotAnItemIsSkipped() throws Exception {
+        String body = """
+                [{"name":"A","email":"a@example.com"},
+                 {"name":{"nested":true},"email":"b@example.com"},
+                 {"name":"C","email":"c@example.com"}]""";
+
+        BulkImportResult result = importService.importItems(stream(body));
+
+        assertEquals(2, result.created());
+        assertEquals(1, result.errors().size());
+        assertEquals(1L, result.errors().get(0).index());
+        assertEquals(List.of("A", "C"), insertedItems.stream().map(Item::getName).toList());
+    }
+
+    @Test
+    void malformedArrayStopsReadingButKeepsItemsReadSoFar() throws Exception {
+        String body = """
+                [{"name":"A","email":"a@example.com"},
+                 {"name":"B" "email":"b@example.com"},
+                 {"name":"C","email":"c@example.com"}]""";
+
+        BulkImportResult result = importService.importItems(stream(body));
+
+        assertEquals(1, result.created());
+        assertEquals(1, result.errors().size());
+        assertEquals(1L, result.errors().get(0).index());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
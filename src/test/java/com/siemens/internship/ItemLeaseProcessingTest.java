@@ -0,0 +1,110 @@
+package com.siemens.internship;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ProcessingResult;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs LEASED processing on several application contexts sharing one file-based H2 database,
+ * the way replicas share one production database.
+ */
+class ItemLeaseProcessingTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+
+    @AfterEach
+    void stopInstances() {
+        instances.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void instancesSplitOneRunWithoutProcessingAnItemTwice() throws Exception {
+        ConfigurableApplicationContext first = startInstance("first");
+        ConfigurableApplicationContext second = startInstance("second");
+        List<Long> ids = saveItems(first, 40, item -> {
+        });
+
+        CompletableFuture<ProcessingResult> firstRun = first.getBean(ItemService.class).processItemsAsync();
+        CompletableFuture<ProcessingResult> secondRun = second.getBean(ItemService.class).processItemsAsync();
+        List<Long> firstIds = firstRun.get(30, TimeUnit.SECONDS).processed().stream().map(Item::getId).toList();
+        List<Long> secondIds = secondRun.get(30, TimeUnit.SECONDS).processed().stream().map(Item::getId).toList();
+
+        assertFalse(firstIds.isEmpty(), "The first instance should process a share of the items");
+        assertFalse(secondIds.isEmpty(), "The second instance should process a share of the items");
+        Set<Long> all = new HashSet<>(firstIds);
+        secondIds.forEach(id -> assertTrue(all.add(id), "Item " + id + " was processed by both instances"));
+        assertEquals(new HashSet<>(ids), all);
+        first.getBean(ItemRepository.class).findAllById(ids).forEach(item -> {
+            assertEquals("PROCESSED", item.getStatus());
+            assertNull(item.getLeaseOwner(), "A processed item should no longer be leased");
+        });
+    }
+
+    @Test
+    void expiredLeasesAreTakenOverAndLiveOnesSkipped() throws Exception {
+        ConfigurableApplicationContext instance = startInstance("survivor");
+        Instant now = Instant.now();
+        List<Long> crashed = saveItems(instance, 5, item -> {
+            item.setLeaseOwner("crashed");
+            item.setLeaseExpiresAt(now.minus(Duration.ofMinutes(1)));
+        });
+        List<Long> busy = saveItems(instance, 5, item -> {
+            item.setLeaseOwner("busy");
+            item.setLeaseExpiresAt(now.plus(Duration.ofHours(1)));
+        });
+
+        List<Item> processed = instance.getBean(ItemService.class).processItemsAsync().get(30, TimeUnit.SECONDS).processed();
+
+        assertEquals(crashed, processed.stream().map(Item::getId).sorted().toList());
+        instance.getBean(ItemRepository.class).findAllById(busy).forEach(item -> {
+            assertEquals("NEW", item.getStatus());
+            assertEquals("busy", item.getLeaseOwner());
+        });
+    }
+
+    private ConfigurableApplicationContext startInstance(String owner) {
+        // Command line arguments, which take precedence over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:file:" + tempDir.resolve("items").toAbsolutePath(),
+                        "--item.processing.mode=LEASED",
+                        "--item.processing.chunk-size=5",
+                        "--item.processing.lease.owner=" + owner,
+                        "--logging.level.root=WARN");
+        instances.add(context);
+        return context;
+    }
+
+    private static List<Long> saveItems(ConfigurableApplicationContext context, int count,
+                                        Consumer<Item> customizer) {
+        List<Item> items = IntStream.range(0, count)
+                .mapToObj(i -> new Item(null, "Item " + i, "Desc", "NEW", "item" + i + "@example.com"))
+                .toList();
+        items.forEach(customizer);
+        return context.getBean(ItemRepository.class).saveAll(items).stream().map(Item::getId).sorted().toList();
+    }
+}
@@ -0,0 +1,273 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.ConcurrencyLimitedExecutorService;
+import com.siemens.internship.config.ItemCacheProperties;
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemCache;
+import com.siemens.internship.service.ItemChangeLog;
+import com.siemens.internship.service.ItemPipeline;
+import com.siemens.internship.service.ItemProcessingMetrics;
+import com.siemens.internship.service.ItemProcessor;
+import com.siemens.internship.service.ProcessingListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItemPipelineTest {
+
+    private ItemRepository itemRepository;
+    private ItemProcessingProperties processingProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        processingProperties = new ItemProcessingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+        when(itemRepository.updateStatusByIdIn(eq("PROCESSED"), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(1).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runsEveryItemThroughTheProcessorsInOrderAndWritesThemInBatches() throws Exception {
+        processingProperties.getPipeline().setReadBatchSize(10);
+        processingProperties.getPipeline().setTransformConcurrency(8);
+        processingProperties.getPipeline().setWriteBatchSize(50);
+        stubItems(25);
+        when(itemRepository.updateFields(any())).thenReturn(1);
+        ItemProcessor rename = item -> {
+            item.setName(item.getName() + "-renamed");
+            return item;
+        };
+        ItemProcessor describe = item -> {
+            item.setDescription("from " + item.getName());
+            return item;
+        };
+        Collector collector = new Collector();
+
+        pipeline(rename, describe).run(collector).get(5, TimeUnit.SECONDS);
+
+        assertEquals(25, collector.processed.size());
+        assertTrue(collector.processed.stream().allMatch(item -> "PROCESSED".equals(item.getStatus())));
+        assertTrue(collector.processed.stream()
+                .allMatch(item -> ("from " + item.getName()).equals(item.getDescription())));
+        // Reads go 10 items at a time; every item was changed, so it is written with its new fields
+        verify(itemRepository, times(3)).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+        verify(itemRepository, times(25)).updateFields(argThat(item -> item.getName().endsWith("-renamed")
+                && "PROCESSED".equals(item.getStatus())));
+        verify(itemRepository, never()).updateStatusByIdIn(any(), anyCollection());
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void itemsLeftUnchangedAreMarkedWithOneUpdateAndChangedOnesCheckTheirVersion() throws Exception {
+        processingProperties.getPipeline().setWriteConcurrency(1);
+        processingProperties.getPipeline().setTransformConcurrency(1);
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of(
+                new Item(1L, "Item1", "Desc", "NEW", "item1@example.com", 3L),
+                new Item(2L, "Item2", "Desc", "NEW", "item2@example.com", 3L),
+                new Item(3L, "Item3", "Desc", "NEW", "item3@example.com", 3L)));
+        // Item 3 was edited after the run read it
+        when(itemRepository.updateFieldsIfVersion(any()))
+                .thenAnswer(invocation -> invocation.<Item>getArgument(0).getId() == 3L ? 0 : 1);
+        when(itemRepository.existsById(3L)).thenReturn(true);
+        ItemProcessor edit = item -> {
+            if (item.getId() != 1L) {
+                item.setDescription("edited");
+            }
+            return item;
+        };
+        Collector collector = new Collector();
+
+        pipeline(edit).run(collector).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(1L, 2L), collector.processed.stream().map(Item::getId).sorted().toList());
+        assertInstanceOf(OptimisticLockingFailureException.class, collector.failed.get(3L));
+        verify(itemRepository).updateStatusByIdIn("PROCESSED", List.of(1L));
+        verify(itemRepository, never()).updateFields(any());
+    }
+
+    @Test
+    void transformStageRunsWithItsOwnConcurrency() throws Exception {
+        processingProperties.getPipeline().setTransformConcurrency(4);
+        stubItems(12);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ItemProcessor slow = item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return item;
+        };
+
+        pipeline(slow).run(new Collector()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(4, maxRunning.get());
+    }
+
+    @Test
+    void completesOnASingleThreadWithQueuesSmallerThanTheTable() throws Exception {
+        executor.shutdownNow();
+        executor = Executors.newSingleThreadExecutor();
+        processingProperties.getPipeline().setQueueCapacity(4);
+        processingProperties.getPipeline().setReadBatchSize(3);
+        stubItems(20);
+        Collector collector = new Collector();
+
+        // Stages waiting on a full queue would hold the only thread the others need
+        pipeline(item -> item).run(collector).get(5, TimeUnit.SECONDS);
+
+        assertEquals(LongStream.rangeClosed(1, 20).boxed().toList(),
+                collector.processed.stream().map(Item::getId).sorted().toList());
+    }
+
+    @Test
+    void transformStageScalesBeyondTheProcessingExecutorsCap() throws Exception {
+        ConcurrencyLimitedExecutorService capped = new ConcurrencyLimitedExecutorService(
+                Executors.newCachedThreadPool(), 2, 100);
+        processingProperties.getPipeline().setTransformConcurrency(6);
+        stubItems(6);
+        // Only passes once all six transforms run at the same time
+        CyclicBarrier allTransforming = new CyclicBarrier(6);
+        ItemProcessor waitForTheOthers = item -> {
+            try {
+                allTransforming.await(5, TimeUnit.SECONDS);
+            } catch (BrokenBarrierException | TimeoutException e) {
+                throw new IllegalStateException(e);
+            }
+            return item;
+        };
+        Collector collector = new Collector();
+        ItemPipeline pipeline = new ItemPipeline(itemRepository, List.of(waitForTheOthers),
+                new ItemCache(new ItemCacheProperties()), processingProperties,
+                new ItemProcessingMetrics(meterRegistry), mock(ItemChangeLog.class),
+                TransactionOperations.withoutTransaction(), capped, executor);
+
+        try {
+            pipeline.run(collector).get(10, TimeUnit.SECONDS);
+        } finally {
+            capped.shutdownNow();
+        }
+
+        assertEquals(6, collector.processed.size());
+        assertTrue(collector.failed.isEmpty());
+    }
+
+    @Test
+    void failingAndDroppedItemsDoNotStopTheOthers() throws Exception {
+        stubItems(3);
+        ItemProcessor processor = item -> {
+            if (item.getId() == 1L) {
+                throw new IllegalStateException("bad item");
+            }
+            return item.getId() == 2L ? null : item;
+        };
+        Collector collector = new Collector();
+
+        pipeline(processor).run(collector).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(3L), collector.processed.stream().map(Item::getId).toList());
+        assertEquals("Failed to process item 1", collector.failed.get(1L).getMessage());
+        verify(itemRepository).updateStatusByIdIn("PROCESSED", List.of(3L));
+        assertEquals(1.0, meterRegistry.get("item.processing.items").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void aFailedReadFailsTheRun() {
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenThrow(new RuntimeException("DB Error"));
+
+        assertThrows(ExecutionException.class,
+                () -> pipeline(item -> item).run(new Collector()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelledRunSkipsQueuedItems() throws Exception {
+        stubItems(5);
+        Collector collector = new Collector();
+        collector.cancelled = true;
+
+        pipeline(item -> item).run(collector).get(5, TimeUnit.SECONDS);
+
+        assertTrue(collector.processed.isEmpty());
+        verify(itemRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+        verify(itemRepository, never()).updateStatusByIdIn(any(), anyCollection());
+    }
+
+    private ItemPipeline pipeline(ItemProcessor... processors) {
+        return new ItemPipeline(itemRepository, List.of(processors), new ItemCache(new ItemCacheProperties()),
+                processingProperties, new ItemProcessingMetrics(meterRegistry), mock(ItemChangeLog.class),
+                TransactionOperations.withoutTransaction(), executor, executor);
+    }
+
+    /**
+     * Serves ids 1..count through the keyset query, in pages of the requested limit.
+     */
+    private void stubItems(int count) {
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            return LongStream.rangeClosed(after + 1, Math.min(count, after + limit))
+                    .mapToObj(id -> new Item(id, "Item" + id, "Desc", "NEW", "item" + id + "@example.com"))
+                    .toList();
+        });
+    }
+
+    private static final class Collector implements ProcessingListener {
+        private final ConcurrentLinkedQueue<Item> processed = new ConcurrentLinkedQueue<>();
+        private final Map<Long, Throwable> failed = new ConcurrentHashMap<>();
+        private final AtomicLong skipped = new AtomicLong();
+        private volatile boolean cancelled;
+
+        @Override
+        public void onProcessed(Item item) {
+            processed.add(item);
+        }
+
+        @Override
+        public void onFailed(Long id, Throwable error) {
+            failed.put(id, error);
+        }
+
+        @Override
+        public void onSkipped(long count) {
+            skipped.addAndGet(count);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
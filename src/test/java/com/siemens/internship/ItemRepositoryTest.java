@@ -2,6 +2,7 @@ package com.siemens.internship;
 
 import com.siemens.internship.model.Item;
 import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
@@ -28,6 +31,12 @@ public class ItemRepositoryTest {
     @Autowired
     private Validator validator;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     public void testValidEmail() {
         Item item = new Item();
@@ -40,7 +49,7 @@ public class ItemRepositoryTest {
 
         itemRepository.save(item);
 
-        List<Long> ids = itemRepository.findAllIds();
+        List<Long> ids = itemRepository.findIdsAfter(0L, Limit.of(10));
         assertEquals(1, ids.size(), "There should be 1 ID in the list after saving the item");
         assertTrue(ids.contains(item.getId()), "The list should contain the ID of the saved item");
     }
@@ -57,4 +66,105 @@ public class ItemRepositoryTest {
 
         itemRepository.save(item);  // In a real-world scenario, handle this exception
     }
+
+    @Test
+    public void testFindByIdGreaterThanReturnsNextKeysetPage() {
+        Item first = itemRepository.save(new Item(null, "First", "Desc", "NEW", "first@example.com"));
+        Item second = itemRepository.save(new Item(null, "Second", "Desc", "NEW", "second@example.com"));
+        Item third = itemRepository.save(new Item(null, "Third", "Desc", "NEW", "third@example.com"));
+
+        List<Item> page = itemRepository.findByIdGreaterThanOrderByIdAsc(first.getId(), Limit.of(1));
+
+        assertEquals(1, page.size(), "The page should be capped by the limit");
+        assertEquals(second.getId(), page.get(0).getId(), "The page should start right after the cursor");
+        assertTrue(third.getId() > second.getId());
+    }
+
+    @Test
+    public void testConditionalUpdateAndDeleteHonourVersion() {
+        Item item = itemRepository.saveAndFlush(new Item(null, "Item", "Desc", "NEW", "item@example.com"));
+        Long version = item.getVersion();
+
+        Item stale = new Item(item.getId(), "Renamed", "Desc", "NEW", "item@example.com", version + 1);
+        assertEquals(0, itemRepository.updateFieldsIfVersion(stale), "A stale version must not update the row");
+
+        Item current = new Item(item.getId(), "Renamed", "Desc", "NEW", "item@example.com", version);
+        assertEquals(1, itemRepository.updateFieldsIfVersion(current), "The current version must update the row");
+
+        assertEquals(0, itemRepository.deleteItemByIdAndVersion(item.getId(), version),
+                "The update bumped the version, so the old one must not delete the row");
+        assertEquals(1, itemRepository.deleteItemByIdAndVersion(item.getId(), version + 1));
+        assertEquals(0, itemRepository.deleteItemById(item.getId()), "The row is already gone");
+    }
+
+    @Test
+    public void testFindByStatusNotAfterSkipsProcessedItems() {
+        Item processed = itemRepository.save(new Item(null, "Done", "Desc", "PROCESSED", "done@example.com"));
+        Item pending = itemRepository.save(new Item(null, "Pending", "Desc", null, "pending@example.com"));
+        Item fresh = itemRepository.save(new Item(null, "Fresh", "Desc", "NEW", "fresh@example.com"));
+
+        List<Item> page = itemRepository.findByStatusNotAfter("PROCESSED", 0L, Limit.of(10));
+
+        assertEquals(List.of(pending.getId(), fresh.getId()), page.stream().map(Item::getId).toList(),
+                "Only items without the PROCESSED status should be returned, in id order");
+        assertEquals(2, itemRepository.countByStatusNot("PROCESSED"));
+        assertTrue(processed.getId() < pending.getId());
+    }
+
+    @Test
+    public void testFindByStatusNotAfterMergesEveryOtherStatusInIdOrder() {
+        Item onHold = itemRepository.save(new Item(null, "OnHold", "Desc", "ON_HOLD", "hold@example.com"));
+        itemRepository.save(new Item(null, "Done", "Desc", "PROCESSED", "done@example.com"));
+        Item fresh = itemRepository.save(new Item(null, "Fresh", "Desc", "NEW", "fresh@example.com"));
+        Item pending = itemRepository.save(new Item(null, "Pending", "Desc", null, "pending@example.com"));
+        Item fresher = itemRepository.save(new Item(null, "Fresher", "Desc", "NEW", "fresher@example.com"));
+
+        assertEquals(List.of("NEW", "ON_HOLD"), itemRepository.findStatusesOtherThan("PROCESSED"));
+        assertEquals(List.of(onHold.getId(), fresh.getId(), pending.getId()),
+                itemRepository.findByStatusNotAfter("PROCESSED", 0L, Limit.of(3)).stream().map(Item::getId).toList());
+        assertEquals(List.of(pending.getId(), fresher.getId()),
+                itemRepository.findByStatusNotAfter("PROCESSED", fresh.getId(), Limit.of(3)).stream()
+                        .map(Item::getId).toList());
+        assertEquals(4, itemRepository.countByStatusNot("PROCESSED"));
+    }
+
+    @Test
+    public void testStatusFilterAndGroupedCounts() {
+        itemRepository.save(new Item(null, "A", "Desc", "NEW", "a@example.com"));
+        Item processed = itemRepository.save(new Item(null, "B", "Desc", "PROCESSED", "b@example.com"));
+        itemRepository.save(new Item(null, "C", "Desc", "PROCESSED", "c@example.com"));
+
+        List<Item> page = itemRepository.findByStatusAndIdGreaterThanOrderByIdAsc("PROCESSED", 0L, Limit.of(1));
+        assertEquals(List.of(processed.getId()), page.stream().map(Item::getId).toList());
+
+        List<ItemRepository.StatusCount> counts = itemRepository.countGroupedByStatus();
+        assertEquals(2, counts.size(), "There should be one row per distinct status");
+        assertEquals(2, counts.stream().filter(c -> "PROCESSED".equals(c.getStatus())).findFirst()
+                .orElseThrow().getCount());
+    }
+
+    @Test
+    public void testBulkUpdatesStartTheVersionOfRowsWithoutOne() {
+        Item item = itemRepository.saveAndFlush(new Item(null, "Item", "Desc", "NEW", "item@example.com"));
+        // Rows restored from an older snapshot may carry no version
+        jdbcTemplate.update("UPDATE item SET version = NULL WHERE id = ?", item.getId());
+
+        assertEquals(1, itemRepository.updateStatusById(item.getId(), "PROCESSED"));
+        entityManager.clear();
+
+        assertEquals(1L, itemRepository.findById(item.getId()).orElseThrow().getVersion(),
+                "A missing version must count as 0, not stay NULL");
+    }
+
+    @Test
+    public void testStatusUpdateLeavesAnItemThatAlreadyHasTheStatus() {
+        Item item = itemRepository.saveAndFlush(new Item(null, "Item", "Desc", "NEW", "item@example.com"));
+
+        assertEquals(1, itemRepository.updateStatusById(item.getId(), "PROCESSED"));
+        assertEquals(0, itemRepository.updateStatusById(item.getId(), "PROCESSED"),
+                "Writing the same status again must not touch the row");
+        entityManager.clear();
+
+        assertEquals(item.getVersion() + 1, itemRepository.findById(item.getId()).orElseThrow().getVersion());
+    }
 }
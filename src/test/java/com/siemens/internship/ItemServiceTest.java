@@ -1,21 +1,50 @@
 package com.siemens.internship;
 
+import com.siemens.internship.config.ItemCacheProperties;
+import com.siemens.internship.config.ItemLoaderProperties;
+import com.siemens.internship.config.ItemProcessingProperties;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemPage;
+import com.siemens.internship.model.ItemStats;
+import com.siemens.internship.model.ProcessingResult;
+import com.siemens.internship.model.ProcessingSummary;
+import com.siemens.internship.model.ProcessingCheckpoint;
 import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ProcessingCheckpointRepository;
+import com.siemens.internship.service.ItemBatchLoader;
+import com.siemens.internship.service.ItemCache;
+import com.siemens.internship.service.ItemChangeLog;
+import com.siemens.internship.service.ItemPipeline;
+import com.siemens.internship.service.ItemProcessingMetrics;
 import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingListener;
+import com.siemens.internship.service.StatusWriteBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,12 +54,55 @@ class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ProcessingCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ItemChangeLog changeLog;
+
+    private ItemProcessingProperties processingProperties;
+    private HoldableExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private StatusWriteBuffer statusWriteBuffer;
     private ItemService itemService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        itemService = new ItemService(itemRepository);
+        processingProperties = new ItemProcessingProperties();
+        // Single attempts keep the repository interactions countable; the retry tests switch retries back on
+        processingProperties.getRetry().setMaxAttempts(1);
+        executor = new HoldableExecutor(4);
+        meterRegistry = new SimpleMeterRegistry();
+        createItemService();
+    }
+
+    /**
+     * Builds the service from the current properties. Most tests check the per-item UPDATE statements, with the
+     * write buffer off by default; the write-buffer tests switch it on and build the service again.
+     */
+    private void createItemService() {
+        statusWriteBuffer = new StatusWriteBuffer(itemRepository, TransactionOperations.withoutTransaction(),
+                changeLog, processingProperties);
+        ItemCache itemCache = new ItemCache(new ItemCacheProperties());
+        ItemProcessingMetrics processingMetrics = new ItemProcessingMetrics(meterRegistry);
+        ItemPipeline itemPipeline = new ItemPipeline(itemRepository, List.of(item -> item), itemCache,
+                processingProperties, processingMetrics, changeLog, TransactionOperations.withoutTransaction(),
+                executor, executor);
+        // Lookups query findById one at a time; ItemBatchLoaderTest covers the batching
+        ItemLoaderProperties loaderProperties = new ItemLoaderProperties();
+        loaderProperties.setEnabled(false);
+        ItemBatchLoader itemLoader = new ItemBatchLoader(itemRepository, loaderProperties, meterRegistry,
+                executor);
+        itemService = new ItemService(itemRepository, checkpointRepository, itemCache,
+                processingProperties, executor, processingMetrics, statusWriteBuffer, itemPipeline, itemLoader,
+                changeLog, TransactionOperations.withoutTransaction());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        statusWriteBuffer.close();
     }
 
     @Test
@@ -55,6 +127,60 @@ class ItemServiceTest {
         verify(itemRepository).findAll();
     }
 
+    @Test
+    void findPageWithNextCursor() {
+        Item item1 = new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com");
+        Item item2 = new Item(2L, "Item2", "Desc2", "NEW", "email2@example.com");
+        Item item3 = new Item(3L, "Item3", "Desc3", "NEW", "email3@example.com");
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(item1, item2, item3));
+
+        ItemPage page = itemService.findPage(null, 2, null);
+
+        assertEquals(List.of(item1, item2), page.items());
+        assertEquals(2L, page.next());
+        verify(itemRepository, never()).findAll();
+    }
+
+    @Test
+    void findPageLastPage() {
+        Item item3 = new Item(3L, "Item3", "Desc3", "NEW", "email3@example.com");
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any())).thenReturn(List.of(item3));
+
+        ItemPage page = itemService.findPage(2L, 2, null);
+
+        assertEquals(List.of(item3), page.items());
+        assertNull(page.next());
+    }
+
+    @Test
+    void findPageByStatusUsesStatusQuery() {
+        Item item = new Item(4L, "Item4", "Desc4", "NEW", "email4@example.com");
+        when(itemRepository.findByStatusAndIdGreaterThanOrderByIdAsc(eq("NEW"), eq(0L), any())).thenReturn(List.of(item));
+
+        ItemPage page = itemService.findPage(null, 10, "NEW");
+
+        assertEquals(List.of(item), page.items());
+        verify(itemRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void statsSumsGroupedCounts() {
+        ItemRepository.StatusCount fresh = mock(ItemRepository.StatusCount.class);
+        when(fresh.getStatus()).thenReturn("NEW");
+        when(fresh.getCount()).thenReturn(2L);
+        ItemRepository.StatusCount processed = mock(ItemRepository.StatusCount.class);
+        when(processed.getStatus()).thenReturn("PROCESSED");
+        when(processed.getCount()).thenReturn(3L);
+        when(itemRepository.countGroupedByStatus()).thenReturn(List.of(fresh, processed));
+
+        ItemStats stats = itemService.stats();
+
+        assertEquals(5, stats.total());
+        assertEquals(List.of(new ItemStats.StatusCount("NEW", 2), new ItemStats.StatusCount("PROCESSED", 3)),
+                stats.byStatus());
+        verify(itemRepository, never()).findAll();
+    }
+
     @Test
     void findByIdFound() {
         Item item = new Item(1L, "Item", "Desc", "NEW", "email@example.com");
@@ -77,6 +203,58 @@ class ItemServiceTest {
         verify(itemRepository).findById(1L);
     }
 
+    @Test
+    void findByIdServesRepeatedLookupsFromCache() {
+        Item item = new Item(1L, "Item", "Desc", "NEW", "email@example.com");
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+
+        itemService.findById(1L);
+        Optional<Item> result = itemService.findById(1L);
+
+        assertEquals(Optional.of(item), result);
+        verify(itemRepository, times(1)).findById(1L);
+        assertEquals(1, itemService.cacheStats().hits());
+        assertEquals(1, itemService.cacheStats().misses());
+    }
+
+    @Test
+    void findByIdDoesNotCacheMissingItems() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+
+        itemService.findById(1L);
+        itemService.findById(1L);
+
+        verify(itemRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void saveRefreshesCachedItem() {
+        Item original = new Item(1L, "Item", "Desc", "NEW", "email@example.com");
+        Item updated = new Item(1L, "Renamed", "Desc", "NEW", "email@example.com");
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(original));
+        when(itemRepository.save(updated)).thenReturn(updated);
+
+        itemService.findById(1L);
+        itemService.save(updated);
+
+        assertEquals("Renamed", itemService.findById(1L).orElseThrow().getName());
+        verify(itemRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void deleteByIdEvictsCachedItem() {
+        Item item = new Item(1L, "Item", "Desc", "NEW", "email@example.com");
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item), Optional.empty());
+
+        when(itemRepository.deleteItemById(1L)).thenReturn(1);
+
+        itemService.findById(1L);
+        itemService.deleteById(1L, null);
+
+        assertTrue(itemService.findById(1L).isEmpty());
+        verify(itemRepository, times(2)).findById(1L);
+    }
+
     @Test
     void save() {
         Item item = new Item(null, "Item", "Desc", "NEW", "email@example.com");
@@ -87,12 +265,74 @@ class ItemServiceTest {
 
         assertEquals(1L, result.getId());
         verify(itemRepository).save(item);
+        verify(changeLog).created(saved);
     }
 
     @Test
     void deleteById() {
-        itemService.deleteById(1L);
-        verify(itemRepository).deleteById(1L);
+        when(itemRepository.deleteItemById(1L)).thenReturn(1);
+
+        assertTrue(itemService.deleteById(1L, null));
+        verify(itemRepository).deleteItemById(1L);
+        verify(itemRepository, never()).findById(anyLong());
+        verify(changeLog).deleted(1L);
+    }
+
+    @Test
+    void deleteByIdNotFound() {
+        when(itemRepository.deleteItemById(1L)).thenReturn(0);
+
+        assertFalse(itemService.deleteById(1L, null));
+        verifyNoInteractions(changeLog);
+    }
+
+    @Test
+    void deleteByIdWithStaleVersionThrowsConflict() {
+        when(itemRepository.deleteItemByIdAndVersion(1L, 3L)).thenReturn(0);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> itemService.deleteById(1L, 3L));
+    }
+
+    @Test
+    void updateWithMatchingVersionUsesSingleStatement() {
+        Item item = new Item(null, "Updated", "Desc", "NEW", "email@example.com", 2L);
+        when(itemRepository.updateFieldsIfVersion(item)).thenReturn(1);
+
+        Optional<Item> result = itemService.update(1L, item);
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().getId());
+        assertEquals(3L, result.get().getVersion());
+        verify(itemRepository, never()).findById(anyLong());
+        verify(itemRepository, never()).existsById(anyLong());
+        verify(changeLog).updated(item);
+    }
+
+    @Test
+    void updateWithoutVersionNotFound() {
+        Item item = new Item(null, "Updated", "Desc", "NEW", "email@example.com");
+        when(itemRepository.updateFields(item)).thenReturn(0);
+
+        assertTrue(itemService.update(1L, item).isEmpty());
+    }
+
+    @Test
+    void updateWithStaleVersionThrowsConflict() {
+        Item item = new Item(null, "Updated", "Desc", "NEW", "email@example.com", 1L);
+        when(itemRepository.updateFieldsIfVersion(item)).thenReturn(0);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> itemService.update(1L, item));
+    }
+
+    @Test
+    void updateWithVersionOfDeletedItemNotFound() {
+        Item item = new Item(null, "Updated", "Desc", "NEW", "email@example.com", 1L);
+        when(itemRepository.updateFieldsIfVersion(item)).thenReturn(0);
+        when(itemRepository.existsById(1L)).thenReturn(false);
+
+        assertTrue(itemService.update(1L, item).isEmpty());
     }
 
     @Test
@@ -103,18 +343,19 @@ class ItemServiceTest {
         Item processed1 = new Item(id1, "Item1", "Desc1", "PROCESSED", "email1@example.com");
         Item processed2 = new Item(id2, "Item2", "Desc2", "PROCESSED", "email2@example.com");
 
-        when(itemRepository.findAllIds()).thenReturn(List.of(id1, id2));
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(id1, id2));
         when(itemRepository.findById(id1)).thenReturn(Optional.of(item1));
         when(itemRepository.findById(id2)).thenReturn(Optional.of(item2));
-        when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemRepository.updateStatusById(anyLong(), eq("PROCESSED"))).thenReturn(1);
 
-        CompletableFuture<List<Item>> future = itemService.processItemsAsync();
-        List<Item> result = future.get(5, TimeUnit.SECONDS);
+        CompletableFuture<ProcessingResult> future = itemService.processItemsAsync();
+        List<Item> result = future.get(5, TimeUnit.SECONDS).processed();
 
         assertEquals(2, result.size());
         assertTrue(result.stream().allMatch(i -> "PROCESSED".equals(i.getStatus())));
         verify(itemRepository, times(2)).findById(anyLong());
-        verify(itemRepository, times(2)).save(any(Item.class));
+        verify(itemRepository, times(2)).updateStatusById(anyLong(), eq("PROCESSED"));
+        verify(itemRepository, never()).save(any(Item.class));
     }
 
     @Test
@@ -122,36 +363,424 @@ class ItemServiceTest {
         Long id1 = 1L, id2 = 2L;
         Item item1 = new Item(id1, "Item1", "Desc1", "NEW", "email1@example.com");
 
-        when(itemRepository.findAllIds()).thenReturn(List.of(id1, id2));
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(id1, id2));
         when(itemRepository.findById(id1)).thenReturn(Optional.of(item1));
         when(itemRepository.findById(id2)).thenReturn(Optional.empty());
-        when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemRepository.updateStatusById(id1, "PROCESSED")).thenReturn(1);
 
-        CompletableFuture<List<Item>> future = itemService.processItemsAsync();
-        List<Item> result = future.get(5, TimeUnit.SECONDS);
+        CompletableFuture<ProcessingResult> future = itemService.processItemsAsync();
+        List<Item> result = future.get(5, TimeUnit.SECONDS).processed();
 
         assertEquals(1, result.size());
         assertEquals("PROCESSED", result.get(0).getStatus());
         verify(itemRepository).findById(id1);
         verify(itemRepository).findById(id2);
-        verify(itemRepository).save(item1);
+        verify(itemRepository).updateStatusById(id1, "PROCESSED");
+        verify(itemRepository, never()).updateStatusById(id2, "PROCESSED");
     }
 
     @Test
-    void processItemsAsyncWithRepositoryError() {
-        when(itemRepository.findAllIds()).thenReturn(List.of(1L));
+    void processItemsAsyncWithRepositoryErrorListsTheFailureAndKeepsTheSuccesses() throws Exception {
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
         when(itemRepository.findById(1L)).thenThrow(new RuntimeException("DB Error"));
+        when(itemRepository.findById(2L)).thenReturn(Optional.of(new Item(2L, "Item2", "Desc2", "NEW", "email2@example.com")));
+        when(itemRepository.updateStatusById(2L, "PROCESSED")).thenReturn(1);
 
-        CompletableFuture<List<Item>> future = itemService.processItemsAsync();
+        ProcessingResult result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
 
-        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(2L), result.processed().stream().map(Item::getId).toList());
+        assertEquals(List.of(new ProcessingResult.Failure(1L, "Failed to process item 1: DB Error")), result.failed());
+        assertFalse(result.circuitOpen());
+        assertTrue(result.durationMillis() >= 100, "Timing should cover the simulated work");
         verify(itemRepository).findById(1L);
     }
 
+    @Test
+    void processItemsAsyncRetriesAFailedItem() throws Exception {
+        processingProperties.getRetry().setMaxAttempts(3);
+        processingProperties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        when(itemRepository.findById(1L))
+                .thenThrow(new RuntimeException("DB Error"))
+                .thenReturn(Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com")));
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+
+        ProcessingResult result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(1L), result.processed().stream().map(Item::getId).toList());
+        assertTrue(result.failed().isEmpty());
+        verify(itemRepository, times(2)).findById(1L);
+        assertEquals(1.0, meterRegistry.get("item.processing.retries").counter().count());
+        assertEquals(0.0, meterRegistry.get("item.processing.items").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void processItemsAsyncGivesUpAfterMaxAttempts() throws Exception {
+        processingProperties.getRetry().setMaxAttempts(2);
+        processingProperties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        when(itemRepository.findById(1L)).thenThrow(new RuntimeException("DB Error"));
+
+        ProcessingResult result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(1L), result.failed().stream().map(ProcessingResult.Failure::id).toList());
+        verify(itemRepository, times(2)).findById(1L);
+        assertEquals(1.0, meterRegistry.get("item.processing.items").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void processItemsAsyncTimesOutASlowItem() throws Exception {
+        processingProperties.setItemTimeout(Duration.ofMillis(300));
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        CountDownLatch readDone = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(itemRepository.findById(1L)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            } finally {
+                readDone.countDown();
+            }
+            return Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com"));
+        });
+
+        ProcessingResult result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(new ProcessingResult.Failure(1L, "Item 1 timed out after 300 ms")), result.failed());
+        assertTrue(result.durationMillis() < 1000, "The run should not wait for the abandoned attempt");
+        assertTrue(readDone.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get(), "A database call of the timed-out attempt must not be interrupted");
+        Thread.sleep(100);
+        verify(itemRepository, never()).updateStatusById(anyLong(), any());
+    }
+
+    @Test
+    void timedOutAttemptDoesNotWriteOnceItsRetryRuns() throws Exception {
+        processingProperties.setItemTimeout(Duration.ofMillis(300));
+        processingProperties.getRetry().setMaxAttempts(2);
+        processingProperties.getRetry().setInitialBackoff(Duration.ZERO);
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch slowReadDone = new CountDownLatch(1);
+        when(itemRepository.findById(1L)).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(500);
+                slowReadDone.countDown();
+            }
+            return Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com"));
+        });
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+
+        ProcessingResult result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
+        assertTrue(slowReadDone.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        assertEquals(List.of(1L), result.processed().stream().map(Item::getId).toList());
+        verify(itemRepository, times(1)).updateStatusById(1L, "PROCESSED");
+        verify(changeLog, times(1)).statusChanged(List.of(1L), "PROCESSED");
+    }
+
+    @Test
+    void anItemAlreadyProcessedIsNotWrittenAgain() throws Exception {
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        Item processed = new Item(1L, "Item1", "Desc1", "PROCESSED", "email1@example.com", 3L);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(processed));
+
+        ProcessingResult result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(processed), result.processed());
+        assertEquals(3L, result.processed().get(0).getVersion());
+        verify(itemRepository, never()).updateStatusById(anyLong(), any());
+        verify(changeLog, never()).statusChanged(any(), any());
+    }
+
+    @Test
+    void retryFindsTheItemWrittenByAnAttemptThatCommittedLate() throws Exception {
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        // The read sees the item unprocessed, but another attempt commits before the write
+        when(itemRepository.findById(1L))
+                .thenReturn(Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com", 1L)))
+                .thenReturn(Optional.of(new Item(1L, "Item1", "Desc1", "PROCESSED", "email1@example.com", 2L)));
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(0);
+
+        ProcessingResult result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(2L), result.processed().stream().map(Item::getVersion).toList());
+        verify(changeLog, never()).statusChanged(any(), any());
+    }
+
+    @Test
+    void processItemsAsyncStopsSchedulingOnceTheCircuitBreakerOpens() throws Exception {
+        processingProperties.setMaxInFlight(1);
+        processingProperties.getCircuitBreaker().setWindowSize(4);
+        processingProperties.getCircuitBreaker().setFailureRateThreshold(0.5);
+        when(itemRepository.findIdsAfter(eq(0L), any()))
+                .thenReturn(LongStream.rangeClosed(1, 20).boxed().toList());
+        when(itemRepository.findById(anyLong())).thenThrow(new RuntimeException("DB Error"));
+
+        ProcessingResult result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.circuitOpen());
+        assertEquals(4, result.failed().size());
+        assertEquals(16, result.skipped());
+        verify(itemRepository, times(4)).findById(anyLong());
+        assertEquals(1.0, meterRegistry.get("item.processing.circuit.opened").counter().count());
+    }
+
+    @Test
+    void processItemsAsyncWithWriteBufferBatchesStatusWrites() throws Exception {
+        processingProperties.getWriteBuffer().setEnabled(true);
+        createItemService();
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L, 3L));
+        for (long id = 1; id <= 3; id++) {
+            when(itemRepository.findById(id)).thenReturn(Optional.of(new Item(id, "Item" + id, "Desc", "NEW", "e@example.com")));
+        }
+        when(itemRepository.updateStatusByIdIn(eq("PROCESSED"), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(1).size());
+
+        List<Item> result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS).processed();
+
+        assertEquals(List.of(1L, 2L, 3L), result.stream().map(Item::getId).sorted().toList());
+        assertTrue(result.stream().allMatch(i -> "PROCESSED".equals(i.getStatus())));
+        verify(itemRepository, never()).updateStatusById(anyLong(), anyString());
+        verify(itemRepository, atMost(3)).updateStatusByIdIn(eq("PROCESSED"), anyCollection());
+    }
+
+    @Test
+    void processItemsAsyncWithWriteBufferLeavesOutItemsDeletedBeforeTheFlush() throws Exception {
+        processingProperties.getWriteBuffer().setEnabled(true);
+        createItemService();
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(new Item(1L, "Item1", "Desc", "NEW", "e@example.com")));
+        when(itemRepository.findById(2L)).thenReturn(Optional.of(new Item(2L, "Item2", "Desc", "NEW", "e@example.com")));
+        // Item 2 is deleted between its read and the batched update
+        when(itemRepository.updateStatusByIdIn(eq("PROCESSED"), anyCollection()))
+                .thenAnswer(invocation -> (int) invocation.<Collection<Long>>getArgument(1).stream()
+                        .filter(id -> id != 2L).count());
+        when(itemRepository.findIdsByIdIn(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                        .filter(id -> id != 2L).toList());
+
+        List<Item> result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS).processed();
+
+        assertEquals(List.of(1L), result.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void processItemsAsyncRecordsItemMetrics() throws Exception {
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com")));
+        when(itemRepository.findById(2L)).thenThrow(new RuntimeException("DB Error"));
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+
+        itemService.processItems(new ProcessingListener() {
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, meterRegistry.get("item.processing.item").timer().count());
+        assertEquals(1.0, meterRegistry.get("item.processing.items").tag("outcome", "success").counter().count());
+        assertEquals(1.0, meterRegistry.get("item.processing.items").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void processItemsAsyncEnumeratesIdsInRanges() throws Exception {
+        processingProperties.setChunkSize(2);
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(itemRepository.findIdsAfter(eq(2L), any())).thenReturn(List.of(3L));
+        for (long id = 1; id <= 3; id++) {
+            when(itemRepository.findById(id)).thenReturn(Optional.of(new Item(id, "Item" + id, "Desc", "NEW", "e@example.com")));
+        }
+        when(itemRepository.updateStatusById(anyLong(), eq("PROCESSED"))).thenReturn(1);
+
+        List<Item> result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS).processed();
+
+        assertEquals(List.of(1L, 2L, 3L), result.stream().map(Item::getId).sorted().toList());
+        verify(itemRepository).findIdsAfter(eq(0L), any());
+        // The second range is shorter than the chunk size, so no third query is needed
+        verify(itemRepository).findIdsAfter(eq(2L), any());
+        verifyNoMoreInteractions(ignoreStubs(itemRepository));
+    }
+
+    @Test
+    void processItemsAsyncKeepsAtMostMaxInFlightItemsScheduled() throws Exception {
+        processingProperties.setMaxInFlight(2);
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(itemRepository.findById(anyLong())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            Long id = invocation.getArgument(0);
+            return Optional.of(new Item(id, "Item" + id, "Desc", "NEW", "e@example.com"));
+        });
+        when(itemRepository.updateStatusById(anyLong(), eq("PROCESSED"))).thenReturn(1);
+
+        List<Item> result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS).processed();
+
+        assertEquals(6, result.size());
+        // The executor has four threads, but only two items are ever scheduled at once
+        assertTrue(maxRunning.get() <= 2, "At most two items should run at once, saw " + maxRunning.get());
+    }
+
+    @Test
+    void cancellingProcessItemsAsyncSkipsTheItemsNotStartedYet() throws Exception {
+        processingProperties.setMaxInFlight(1);
+        processingProperties.setChunkSize(2);
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(itemRepository.countByIdGreaterThan(2L)).thenReturn(8L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.findById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com"));
+        });
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+
+        CompletableFuture<ProcessingResult> future = itemService.processItemsAsync();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(false));
+        release.countDown();
+
+        // The running item finishes; item 2 and the 8 ids after it are never handed out
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("item.processing.runs.cancelled").counter().count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1.0, meterRegistry.get("item.processing.runs.cancelled").counter().count());
+        assertEquals(9.0, meterRegistry.get("item.processing.items").tag("outcome", "skipped").counter().count());
+        verify(itemRepository, never()).findById(2L);
+        verify(itemRepository, never()).findIdsAfter(eq(2L), any());
+    }
+
+    @Test
+    void concurrentProcessItemsAsyncCallsShareOneRun() throws Exception {
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.findById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com"));
+        });
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+
+        CompletableFuture<ProcessingResult> first = itemService.processItemsAsync();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ProcessingResult> second = itemService.processItemsAsync();
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        verify(itemRepository, times(1)).findById(1L);
+        assertEquals(1.0, meterRegistry.get("item.processing.runs.coalesced").counter().count());
+
+        // Once the run has completed, the next call starts a new one
+        itemService.processItemsAsync().get(5, TimeUnit.SECONDS);
+        verify(itemRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void callersJoinTheSharedRunWhileItIsStillStarting() throws Exception {
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        when(itemRepository.findById(1L))
+                .thenReturn(Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com")));
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.hold = release;
+
+        // The first caller stalls while it hands the run's first tasks to the executor
+        CompletableFuture<CompletableFuture<ProcessingResult>> first =
+                CompletableFuture.supplyAsync(itemService::processItemsAsync);
+        assertTrue(executor.held.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ProcessingResult> second =
+                assertTimeoutPreemptively(Duration.ofSeconds(5), itemService::processItemsAsync);
+        release.countDown();
+
+        assertEquals(List.of(1L), first.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS).processed().stream()
+                .map(Item::getId).toList());
+        assertEquals(List.of(1L), second.get(5, TimeUnit.SECONDS).processed().stream().map(Item::getId).toList());
+        assertEquals(1.0, meterRegistry.get("item.processing.runs.coalesced").counter().count());
+        verify(itemRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void cancellingOneCallerKeepsTheSharedRunGoingForTheOthers() throws Exception {
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.findById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com"));
+        });
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+
+        CompletableFuture<ProcessingResult> first = itemService.processItemsAsync();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ProcessingResult> second = itemService.processItemsAsync();
+        assertTrue(first.cancel(false));
+        release.countDown();
+
+        assertEquals(List.of(1L), second.get(5, TimeUnit.SECONDS).processed().stream().map(Item::getId).toList());
+        assertEquals(0.0, meterRegistry.get("item.processing.runs.cancelled").counter().count());
+    }
+
+    @Test
+    void runIsRepeatedWhenItemsWereCreatedWhileItRan() throws Exception {
+        processingProperties.setRerunOnNewItems(true);
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.findById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com"));
+        });
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+        Item created = new Item(2L, "Item2", "Desc2", "NEW", "email2@example.com");
+        when(itemRepository.save(any(Item.class))).thenReturn(created);
+
+        CompletableFuture<ProcessingResult> first = itemService.processItemsAsync();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        itemService.save(new Item(null, "Item2", "Desc2", "NEW", "email2@example.com"));
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        // The follow-up run starts on its own, before the first run's callers are answered
+        assertEquals(1.0, meterRegistry.get("item.processing.runs.rerun").counter().count());
+        verify(itemRepository, timeout(5000).times(2)).findById(1L);
+    }
+
+    @Test
+    void runIsNotRepeatedForItemsOnlyUpdatedWhileItRan() throws Exception {
+        processingProperties.setRerunOnNewItems(true);
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.findById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com"));
+        });
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+        Item updated = new Item(2L, "Item2", "Desc2", "NEW", "email2@example.com");
+        when(itemRepository.save(any(Item.class))).thenReturn(updated);
+
+        CompletableFuture<ProcessingResult> first = itemService.processItemsAsync();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        itemService.save(updated);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertEquals(0.0, meterRegistry.get("item.processing.runs.rerun").counter().count());
+        verify(itemRepository, times(1)).findById(1L);
+    }
+
     @Test
     void processItemsAsyncWithInterruption() throws Exception {
         Long id = 1L;
-        when(itemRepository.findAllIds()).thenReturn(List.of(id));
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(id));
 
         // Create a CountDownLatch to synchronize with the interrupt
         CountDownLatch latch = new CountDownLatch(1);
@@ -164,7 +793,7 @@ class ItemServiceTest {
             return Optional.empty();
         });
 
-        CompletableFuture<List<Item>> future = itemService.processItemsAsync();
+        CompletableFuture<ProcessingResult> future = itemService.processItemsAsync();
 
         // Wait for processing to start
         latch.await(5, TimeUnit.SECONDS);
@@ -172,23 +801,230 @@ class ItemServiceTest {
         // Interrupt the processing thread
         processingThread.get().interrupt();
 
-        // Verify the future completes exceptionally
-        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
-    }
-
-    @Test
-    void shutdownDoesNotThrow() {
-        assertDoesNotThrow(() -> itemService.shutdown());
+        // Verify the item is reported as failed and not retried
+        ProcessingResult result = future.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(id), result.failed().stream().map(ProcessingResult.Failure::id).toList());
+        assertTrue(result.failed().get(0).reason().startsWith("Processing interrupted"));
     }
 
     @Test
     void processItemsAsync_AlsoTestsProcessItem() throws Exception {
         // Acest test acoperă și funcționalitatea processItem
-        when(itemRepository.findAllIds()).thenReturn(List.of(1L));
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(new Item(1L, "Test", "Desc", "NEW", "test@example.com")));
-        when(itemRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
 
-        List<Item> result = itemService.processItemsAsync().get();
+        List<Item> result = itemService.processItemsAsync().get().processed();
         assertEquals("PROCESSED", result.get(0).getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void processItemsAsyncChunked() throws Exception {
+        processingProperties.setMode(ItemProcessingProperties.Mode.CHUNKED);
+        processingProperties.setChunkSize(2);
+        Item item1 = new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com");
+        Item item2 = new Item(2L, "Item2", "Desc2", "NEW", "email2@example.com");
+        Item item3 = new Item(3L, "Item3", "Desc3", "NEW", "email3@example.com");
+
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(item1, item2));
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any())).thenReturn(List.of(item3));
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any())).thenReturn(List.of());
+
+        List<Item> result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS).processed();
+
+        assertEquals(List.of(1L, 2L, 3L), result.stream().map(Item::getId).toList());
+        assertTrue(result.stream().allMatch(i -> "PROCESSED".equals(i.getStatus())));
+        verify(itemRepository).updateStatusByIdIn("PROCESSED", List.of(1L, 2L));
+        verify(itemRepository).updateStatusByIdIn("PROCESSED", List.of(3L));
+        // One change feed write per chunk
+        verify(changeLog).statusChanged(List.of(1L, 2L), "PROCESSED");
+        verify(changeLog).statusChanged(List.of(3L), "PROCESSED");
+        assertEquals(0, itemService.cacheStats().size());
+        verify(itemRepository, never()).findById(anyLong());
+        verify(itemRepository, never()).save(any(Item.class));
+    }
+
+    @Test
+    void processItemsAsyncPipelined() throws Exception {
+        processingProperties.setMode(ItemProcessingProperties.Mode.PIPELINED);
+        Item item1 = new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com");
+        Item item2 = new Item(2L, "Item2", "Desc2", "NEW", "email2@example.com");
+        when(itemRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(item1, item2));
+        when(itemRepository.updateStatusByIdIn(eq("PROCESSED"), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(1).size());
+
+        List<Item> result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS).processed();
+
+        assertEquals(List.of(1L, 2L), result.stream().map(Item::getId).sorted().toList());
+        assertTrue(result.stream().allMatch(i -> "PROCESSED".equals(i.getStatus())));
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void processItemsStreamingCountsFailuresAndEmitsSuccesses() throws Exception {
+        Item item1 = new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com");
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
+        when(itemRepository.findById(2L)).thenThrow(new RuntimeException("DB Error"));
+        when(itemRepository.updateStatusById(1L, "PROCESSED")).thenReturn(1);
+
+        ConcurrentLinkedQueue<Item> emitted = new ConcurrentLinkedQueue<>();
+        ProcessingSummary summary = itemService.processItemsStreaming(emitted::add).get(5, TimeUnit.SECONDS);
+
+        assertEquals(new ProcessingSummary(1, 1, 0), summary);
+        assertEquals(1, emitted.size());
+        assertEquals("PROCESSED", emitted.peek().getStatus());
+    }
+
+    @Test
+    void processItemsSkipsQueuedItemsOnceCancelled() throws Exception {
+        processingProperties.setMaxInFlight(1);
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L, 3L));
+        AtomicInteger checks = new AtomicInteger();
+
+        // Cancelled once item 1 has been handed out: its queued task and the two ids after it are skipped
+        ProcessingSummary summary = itemService.processItems(new ProcessingListener() {
+            @Override
+            public boolean isCancelled() {
+                return checks.incrementAndGet() > 1;
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(new ProcessingSummary(0, 0, 3), summary);
+        verify(itemRepository, never()).findById(anyLong());
+        verify(itemRepository, never()).updateStatusById(anyLong(), any());
+    }
+
+    @Test
+    void cancellingTheStreamedRunSkipsTheItemsNotStartedYet() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(itemRepository.count()).thenAnswer(invocation -> {
+            // The client goes away while the run is counting the items
+            assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+            return 3L;
+        });
+        when(itemRepository.countByIdGreaterThan(0L)).thenReturn(3L);
+
+        CompletableFuture<ProcessingSummary> run = itemService.processItemsStreaming(item -> { });
+        assertTrue(run.cancel(false));
+        cancelled.countDown();
+
+        verify(itemRepository, timeout(5_000)).countByIdGreaterThan(0L);
+        verify(itemRepository, never()).findIdsAfter(anyLong(), any());
+        verify(itemRepository, never()).updateStatusById(anyLong(), any());
+    }
+
+    @Test
+    void processItemsCancelledBeforeStartingCountsTheIdsInsteadOfReadingThem() throws Exception {
+        when(itemRepository.countByIdGreaterThan(0L)).thenReturn(3L);
+
+        ProcessingSummary summary = itemService.processItems(new ProcessingListener() {
+            @Override
+            public boolean isCancelled() {
+                return true;
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(new ProcessingSummary(0, 0, 3), summary);
+        verify(itemRepository, never()).findIdsAfter(anyLong(), any());
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void processItemsReportsTotalAndFailures() throws Exception {
+        when(itemRepository.count()).thenReturn(1L);
+        when(itemRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L));
+        when(itemRepository.findById(1L)).thenThrow(new RuntimeException("DB Error"));
+        AtomicReference<Long> total = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        itemService.processItems(new ProcessingListener() {
+            @Override
+            public void onStarted(long count) {
+                total.set(count);
+            }
+
+            @Override
+            public void onFailed(Long id, Throwable error) {
+                failure.set(error);
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1L, total.get());
+        assertEquals("Failed to process item 1", failure.get().getMessage());
+    }
+
+    @Test
+    void processItemsAsyncIncrementalResumesFromWatermark() throws Exception {
+        processingProperties.setMode(ItemProcessingProperties.Mode.INCREMENTAL);
+        processingProperties.setChunkSize(2);
+        Instant runStartedAt = Instant.parse("2026-01-01T00:00:00Z");
+        when(checkpointRepository.findById("item-processing"))
+                .thenReturn(Optional.of(new ProcessingCheckpoint("item-processing", 5L, runStartedAt, runStartedAt)));
+        Item item7 = new Item(7L, "Item7", "Desc7", "NEW", "email7@example.com");
+        when(itemRepository.findByStatusNotAfter(eq("PROCESSED"), eq(5L), any())).thenReturn(List.of(item7));
+        when(itemRepository.findByStatusNotAfter(eq("PROCESSED"), eq(7L), any())).thenReturn(List.of());
+
+        List<Item> result = itemService.processItemsAsync().get(5, TimeUnit.SECONDS).processed();
+
+        assertEquals(List.of(item7), result);
+        verify(itemRepository).updateStatusByIdIn("PROCESSED", List.of(7L));
+        verify(checkpointRepository).save(argThat(checkpoint -> checkpoint.getLastProcessedId() == 7L
+                && runStartedAt.equals(checkpoint.getRunStartedAt())));
+        verify(checkpointRepository).deleteById("item-processing");
+        verify(itemRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void processItemsAsyncIncrementalKeepsWatermarkWhenChunkFails() {
+        processingProperties.setMode(ItemProcessingProperties.Mode.INCREMENTAL);
+        when(checkpointRepository.findById("item-processing")).thenReturn(Optional.empty());
+        when(itemRepository.findByStatusNotAfter(eq("PROCESSED"), eq(0L), any()))
+                .thenReturn(List.of(new Item(1L, "Item1", "Desc1", "NEW", "email1@example.com")));
+        when(itemRepository.updateStatusByIdIn(any(), any())).thenThrow(new RuntimeException("DB Error"));
+
+        CompletableFuture<ProcessingResult> future = itemService.processItemsAsync();
+
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        verify(checkpointRepository, never()).save(any());
+        verify(checkpointRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void processPendingItemsProcessesOneChunkOfUnprocessedItems() throws Exception {
+        Item item1 = new Item(1L, "Item1", "Desc1", null, "email1@example.com");
+        when(itemRepository.findByStatusNotAfter(eq("PROCESSED"), eq(0L), any())).thenReturn(List.of(item1));
+
+        ProcessingSummary summary = itemService.processPendingItems(10).get(5, TimeUnit.SECONDS);
+
+        assertEquals(new ProcessingSummary(1, 0, 0), summary);
+        verify(itemRepository, times(1)).findByStatusNotAfter(any(), anyLong(), any());
+        verifyNoInteractions(checkpointRepository);
+    }
+
+    /**
+     * Fixed pool whose {@code execute} can be held, to stall a caller while it submits a task.
+     */
+    private static final class HoldableExecutor extends ThreadPoolExecutor {
+        private final CountDownLatch held = new CountDownLatch(1);
+        private volatile CountDownLatch hold = new CountDownLatch(0);
+
+        HoldableExecutor(int threads) {
+            super(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            CountDownLatch current = hold;
+            if (current.getCount() > 0) {
+                held.countDown();
+                try {
+                    current.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.execute(command);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.ItemSnapshotProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.SnapshotResult;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ItemSnapshotService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class ItemSnapshotServiceTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path tempDir;
+
+    private ItemSnapshotProperties properties;
+    private ItemService itemService;
+    private ItemSnapshotService snapshotService;
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new ItemSnapshotProperties();
+        properties.setPath(tempDir.resolve("items.snapshot"));
+        // Small blocks, so a few items already span several of them
+        properties.setBlockSize(DataSize.ofBytes(256));
+        itemService = mock(ItemService.class);
+        TransactionOperations counting = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                transactions.incrementAndGet();
+                return TransactionOperations.withoutTransaction().execute(action);
+            }
+        };
+        snapshotService = new ItemSnapshotService(itemRepository, entityManager, jdbcTemplate, properties, counting,
+                itemService);
+    }
+
+    @Test
+    void restoresTheItemsOfAWrittenSnapshot() throws IOException {
+        List<Item> saved = itemRepository.saveAllAndFlush(IntStream.range(0, 20)
+                .mapToObj(i -> new Item(null, "Item " + i, i % 2 == 0 ? null : "Description é " + i, "NEW",
+                        "item" + i + "@example.com"))
+                .toList());
+
+        SnapshotResult written = snapshotService.writeSnapshot();
+        itemRepository.deleteAllInBatch();
+        entityManager.clear();
+        SnapshotResult restored = snapshotService.restore();
+
+        assertEquals(20, written.items());
+        assertEquals(20, restored.items());
+        assertEquals(written.bytes(), restored.bytes());
+        assertEquals(saved, itemRepository.findAll(Sort.by("id")));
+        assertTrue(transactions.get() > 1, "Every block is committed on its own");
+        verify(itemService, times(transactions.get())).itemsCreated();
+
+        Item created = itemRepository.save(new Item(null, "New", "Desc", "NEW", "new@example.com"));
+        assertTrue(saved.stream().noneMatch(item -> item.getId().equals(created.getId())),
+                "New ids must not collide with restored ones");
+    }
+
+    @Test
+    void aTruncatedSnapshotKeepsTheBlocksRestoredBeforeTheEnd() throws IOException {
+        List<Item> saved = itemRepository.saveAllAndFlush(IntStream.range(0, 20)
+                .mapToObj(i -> new Item(null, "Item " + i, "Desc", "NEW", "item" + i + "@example.com"))
+                .toList());
+        snapshotService.writeSnapshot();
+        itemRepository.deleteAllInBatch();
+        entityManager.clear();
+        // Cut the file in the header of the second block
+        byte[] bytes = Files.readAllBytes(properties.getPath());
+        int firstBlockEnd = 8 + 8 + ByteBuffer.wrap(bytes, 12, 4).getInt();
+        Files.write(properties.getPath(), Arrays.copyOf(bytes, firstBlockEnd + 4));
+
+        assertThrows(IOException.class, () -> snapshotService.restore());
+
+        long restored = itemRepository.count();
+        assertTrue(restored > 0 && restored < saved.size(), "Only the first block is restored, got " + restored);
+        Item created = itemRepository.save(new Item(null, "New", "Desc", "NEW", "new@example.com"));
+        assertTrue(saved.stream().noneMatch(item -> item.getId().equals(created.getId())),
+                "The sequence is moved past the restored ids even though the restore failed");
+    }
+
+    @Test
+    void refusesToRestoreIntoANonEmptyTable() throws IOException {
+        itemRepository.saveAndFlush(new Item(null, "Item", "Desc", "NEW", "item@example.com"));
+        snapshotService.writeSnapshot();
+
+        assertThrows(IllegalStateException.class, () -> snapshotService.restore());
+    }
+
+    @Test
+    void rejectsAFileThatIsNotASnapshot() throws IOException {
+        Files.writeString(properties.getPath(), "id,name,description,status,email\r\n");
+
+        assertThrows(IOException.class, () -> snapshotService.restore());
+    }
+}
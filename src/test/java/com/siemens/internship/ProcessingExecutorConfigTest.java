@@ -0,0 +1,203 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.ConcurrencyLimitedExecutorService;
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.config.ProcessingExecutorConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessingExecutorConfigTest {
+
+    private final ProcessingExecutorConfig config = new ProcessingExecutorConfig();
+
+    @Test
+    void boundedModeNeverExceedsConcurrencyCap() throws Exception {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.getExecutor().setMode(ItemProcessingProperties.ExecutorMode.BOUNDED);
+        properties.getExecutor().setPoolSize(8);
+        properties.getExecutor().setMaxConcurrency(3);
+
+        ConcurrencyLimitedExecutorService executor = config.itemProcessingExecutor(properties);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }, executor));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        // A future completes inside its task, before the task is counted as finished
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertTrue(maxRunning.get() <= 3, "At most 3 tasks may run at once, saw " + maxRunning.get());
+        assertEquals(0, executor.getActiveCount());
+        assertEquals(0, executor.getQueuedCount());
+    }
+
+    @Test
+    void boundedModeRunsTasksSubmittedFromTasksAtTheCap() throws Exception {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.getExecutor().setMode(ItemProcessingProperties.ExecutorMode.BOUNDED);
+        properties.getExecutor().setPoolSize(2);
+        properties.getExecutor().setMaxConcurrency(2);
+        ConcurrencyLimitedExecutorService executor = config.itemProcessingExecutor(properties);
+
+        // Every running task submits another one while holding the only two permits
+        List<CompletableFuture<CompletableFuture<Void>>> outer = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            outer.add(CompletableFuture.supplyAsync(
+                    () -> CompletableFuture.runAsync(() -> assertNotEquals("main", Thread.currentThread().getName()),
+                            executor),
+                    executor));
+        }
+
+        for (CompletableFuture<CompletableFuture<Void>> task : outer) {
+            task.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fullQueueRejectsInsteadOfRunningOnTheCaller() throws Exception {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.getExecutor().setMode(ItemProcessingProperties.ExecutorMode.BOUNDED);
+        properties.getExecutor().setMaxConcurrency(1);
+        properties.getExecutor().setQueueCapacity(1);
+        ConcurrencyLimitedExecutorService executor = config.itemProcessingExecutor(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+        }, executor);
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+        }));
+        release.countDown();
+        waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(0, ranOnCaller.get());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void anInterruptOfATaskDoesNotReachTheNextWaitingTask() throws Exception {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.getExecutor().setMaxConcurrency(1);
+        ConcurrencyLimitedExecutorService executor = config.itemProcessingExecutor(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Leaves the thread interrupted, as a cancelled attempt ignoring the interrupt would
+            Thread.currentThread().interrupt();
+        }, executor);
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(
+                () -> Thread.currentThread().isInterrupted(), executor);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertFalse(second.get(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void executorGaugesReportRunningAndWaitingTasks() throws Exception {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.getExecutor().setMaxConcurrency(1);
+        ConcurrencyLimitedExecutorService executor = config.itemProcessingExecutor(properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        config.itemProcessingExecutorMetrics(executor).bindTo(registry);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, executor);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+        }, executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1.0, registry.get("item.processing.executor.active").gauge().value());
+        assertEquals(1.0, registry.get("item.processing.executor.queued").gauge().value());
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void workStealingModeRunsTasks() throws Exception {
+        ConcurrencyLimitedExecutorService executor = config.itemProcessingExecutor(new ItemProcessingProperties());
+
+        assertEquals("done", CompletableFuture.supplyAsync(() -> "done", executor).get(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void virtualModeMatchesRuntimeSupport() {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.getExecutor().setMode(ItemProcessingProperties.ExecutorMode.VIRTUAL);
+
+        if (Runtime.version().feature() >= 21) {
+            ConcurrencyLimitedExecutorService executor = config.itemProcessingExecutor(properties);
+            assertFalse(executor.isShutdown());
+            executor.shutdownNow();
+        } else {
+            assertThrows(IllegalStateException.class, () -> config.itemProcessingExecutor(properties));
+        }
+    }
+
+    @Test
+    void shutdownDoesNotThrow() {
+        ConcurrencyLimitedExecutorService executor = config.itemProcessingExecutor(new ItemProcessingProperties());
+
+        assertDoesNotThrow(executor::shutdownNow);
+        assertTrue(executor.isShutdown());
+    }
+
+    @Test
+    void rejectsNonPositiveCap() {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.getExecutor().setMaxConcurrency(0);
+
+        assertThrows(IllegalArgumentException.class, () -> config.itemProcessingExecutor(properties));
+    }
+}
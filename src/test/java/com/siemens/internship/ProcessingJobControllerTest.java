@@ -0,0 +1,80 @@
+package com.siemens.internship;
+
+import com.siemens.internship.controller.ProcessingJobController;
+import com.siemens.internship.model.ProcessingJobStatus;
+import com.siemens.internship.service.ProcessingJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessingJobControllerTest {
+
+    private ProcessingJobService jobService;
+    private ProcessingJobController controller;
+    private final ProcessingJobStatus status = new ProcessingJobStatus("job-1", ProcessingJobStatus.State.RUNNING,
+            10, 2, 0, 0, 4.0, 2L, Instant.parse("2026-01-01T00:00:00Z"), null);
+
+    @BeforeEach
+    void setUp() {
+        jobService = mock(ProcessingJobService.class);
+        controller = new ProcessingJobController(jobService);
+    }
+
+    @Test
+    void startJob_returnsAcceptedWithLocation() {
+        when(jobService.start()).thenReturn(status);
+
+        ResponseEntity<ProcessingJobStatus> response = controller.startJob(UriComponentsBuilder.newInstance());
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("/api/items/process/jobs/job-1", response.getHeaders().getLocation().toString());
+        assertEquals(status, response.getBody());
+    }
+
+    @Test
+    void startJob_whileACancelledJobIsStoppingIsConflict() {
+        when(jobService.start()).thenThrow(new IllegalStateException("stopping"));
+
+        assertEquals(HttpStatus.CONFLICT, controller.startJob(UriComponentsBuilder.newInstance()).getStatusCode());
+    }
+
+    @Test
+    void getJob_foundAndNotFound() {
+        when(jobService.status("job-1")).thenReturn(Optional.of(status));
+        when(jobService.status("missing")).thenReturn(Optional.empty());
+
+        assertEquals(HttpStatus.OK, controller.getJob("job-1").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getJob("missing").getStatusCode());
+    }
+
+    @Test
+    void cancelJob_foundAndNotFound() {
+        when(jobService.cancel("job-1")).thenReturn(Optional.of(status));
+        when(jobService.cancel("missing")).thenReturn(Optional.empty());
+
+        assertEquals(HttpStatus.ACCEPTED, controller.cancelJob("job-1").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.cancelJob("missing").getStatusCode());
+    }
+
+    @Test
+    void cancelJob_thatHasFinishedIsReturnedUnchanged() {
+        ProcessingJobStatus completed = new ProcessingJobStatus("job-2", ProcessingJobStatus.State.COMPLETED,
+                10, 10, 0, 0, 5.0, 0L, Instant.parse("2026-01-01T00:00:00Z"),
+                Instant.parse("2026-01-01T00:00:02Z"));
+        when(jobService.cancel("job-2")).thenReturn(Optional.of(completed));
+
+        ResponseEntity<ProcessingJobStatus> response = controller.cancelJob("job-2");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(completed, response.getBody());
+    }
+}
@@ -0,0 +1,179 @@
+package com.siemens.internship;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ProcessingJobStatus;
+import com.siemens.internship.model.ProcessingSummary;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingJob;
+import com.siemens.internship.service.ProcessingJobService;
+import com.siemens.internship.service.ProcessingListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProcessingJobServiceTest {
+
+    private ItemService itemService;
+    private ProcessingJobService jobService;
+    private final AtomicReference<ProcessingListener> listener = new AtomicReference<>();
+    private final CompletableFuture<ProcessingSummary> run = new CompletableFuture<>();
+
+    @BeforeEach
+    void setUp() {
+        itemService = mock(ItemService.class);
+        when(itemService.processItems(any())).thenAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            return run;
+        });
+        jobService = new ProcessingJobService(itemService);
+    }
+
+    @Test
+    void startReturnsRunningJobImmediately() {
+        ProcessingJobStatus status = jobService.start();
+
+        assertEquals(ProcessingJobStatus.State.RUNNING, status.state());
+        assertTrue(jobService.status(status.id()).isPresent());
+    }
+
+    @Test
+    void statusTracksProgressAndCompletion() {
+        ProcessingJobStatus started = jobService.start();
+        listener.get().onStarted(3);
+        listener.get().onProcessed(new Item());
+        listener.get().onFailed(2L, new RuntimeException("boom"));
+
+        ProcessingJobStatus running = jobService.status(started.id()).orElseThrow();
+        assertEquals(3, running.total());
+        assertEquals(1, running.done());
+        assertEquals(1, running.failed());
+
+        run.complete(new ProcessingSummary(1, 1, 0));
+
+        assertEquals(ProcessingJobStatus.State.COMPLETED, jobService.status(started.id()).orElseThrow().state());
+    }
+
+    @Test
+    void cancelStopsQueuedWork() {
+        ProcessingJobStatus started = jobService.start();
+
+        jobService.cancel(started.id());
+
+        assertTrue(listener.get().isCancelled());
+        run.complete(new ProcessingSummary(0, 0, 5));
+        ProcessingJobStatus cancelled = jobService.status(started.id()).orElseThrow();
+        assertEquals(ProcessingJobStatus.State.CANCELLED, cancelled.state());
+        assertEquals(5, cancelled.skipped());
+    }
+
+    @Test
+    void skippedItemsAreCountedWhileTheJobRuns() {
+        ProcessingJobStatus started = jobService.start();
+        listener.get().onStarted(10);
+        jobService.cancel(started.id());
+        listener.get().onSkipped(4);
+        listener.get().onSkipped(2);
+
+        assertEquals(6, jobService.status(started.id()).orElseThrow().skipped());
+
+        run.complete(new ProcessingSummary(0, 0, 6));
+        assertEquals(6, jobService.status(started.id()).orElseThrow().skipped());
+    }
+
+    @Test
+    void cancelAfterTheJobFinishedLeavesItUnchanged() {
+        ProcessingJobStatus started = jobService.start();
+        run.complete(new ProcessingSummary(3, 0, 0));
+
+        ProcessingJobStatus status = jobService.cancel(started.id()).orElseThrow();
+
+        assertEquals(ProcessingJobStatus.State.COMPLETED, status.state());
+        assertFalse(listener.get().isCancelled());
+    }
+
+    @Test
+    void startWhileAJobRunsReturnsTheRunningJob() {
+        ProcessingJobStatus first = jobService.start();
+
+        ProcessingJobStatus second = jobService.start();
+
+        assertEquals(first.id(), second.id());
+        verify(itemService, times(1)).processItems(any());
+    }
+
+    @Test
+    void startAfterTheRunningJobFinishedStartsANewOne() {
+        ProcessingJobStatus first = jobService.start();
+        run.complete(new ProcessingSummary(0, 0, 0));
+
+        ProcessingJobStatus second = jobService.start();
+
+        assertNotEquals(first.id(), second.id());
+        verify(itemService, times(2)).processItems(any());
+    }
+
+    @Test
+    void startWhileACancelledJobIsStoppingIsRejected() {
+        ProcessingJobStatus started = jobService.start();
+        jobService.cancel(started.id());
+
+        assertThrows(IllegalStateException.class, jobService::start);
+        run.complete(new ProcessingSummary(0, 0, 0));
+        assertNotEquals(started.id(), jobService.start().id());
+    }
+
+    @Test
+    void unknownJob() {
+        assertTrue(jobService.status("missing").isEmpty());
+        assertTrue(jobService.cancel("missing").isEmpty());
+    }
+
+    @Test
+    void etaIsDerivedFromMeasuredRate() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        ProcessingJob job = new ProcessingJob("job", clock);
+        job.onStarted(30);
+        for (int i = 0; i < 10; i++) {
+            job.onProcessed(new Item());
+        }
+        clock.now = clock.now.plusSeconds(5);
+
+        ProcessingJobStatus status = job.status();
+
+        assertEquals(2.0, status.itemsPerSecond(), 0.001);
+        assertEquals(10L, status.etaSeconds());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
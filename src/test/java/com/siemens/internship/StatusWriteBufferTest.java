@@ -0,0 +1,149 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemChangeLog;
+import com.siemens.internship.service.StatusWriteBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatusWriteBufferTest {
+
+    private ItemRepository itemRepository;
+    private ItemChangeLog changeLog;
+    private ItemProcessingProperties properties;
+    private StatusWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        changeLog = mock(ItemChangeLog.class);
+        when(itemRepository.updateStatusByIdIn(anyString(), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(1).size());
+        properties = new ItemProcessingProperties();
+        properties.getWriteBuffer().setEnabled(true);
+        properties.getWriteBuffer().setBatchSize(10);
+        properties.getWriteBuffer().setFlushInterval(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        buffer.close();
+    }
+
+    @Test
+    void flushesWritesInBatchesOfAtMostBatchSize() throws Exception {
+        buffer = new StatusWriteBuffer(itemRepository, TransactionOperations.withoutTransaction(), changeLog, properties);
+
+        List<CompletableFuture<Boolean>> writes = LongStream.rangeClosed(1, 25)
+                .mapToObj(id -> buffer.write(id, "PROCESSED"))
+                .toList();
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertTrue(writes.stream().allMatch(CompletableFuture::join));
+        verify(itemRepository, atLeast(3)).updateStatusByIdIn(eq("PROCESSED"),
+                argThat(ids -> ids.size() <= 10));
+        verify(itemRepository, never()).updateStatusByIdIn(eq("PROCESSED"), argThat(ids -> ids.size() > 10));
+    }
+
+    @Test
+    void flushesAPartialBatchAfterTheInterval() throws Exception {
+        buffer = new StatusWriteBuffer(itemRepository, TransactionOperations.withoutTransaction(), changeLog, properties);
+
+        assertTrue(buffer.write(1L, "PROCESSED").get(5, TimeUnit.SECONDS));
+        verify(itemRepository).updateStatusByIdIn("PROCESSED", List.of(1L));
+    }
+
+    @Test
+    void failsEveryWriteOfAFailedBatch() {
+        when(itemRepository.updateStatusByIdIn(anyString(), anyCollection())).thenThrow(new RuntimeException("DB Error"));
+        buffer = new StatusWriteBuffer(itemRepository, TransactionOperations.withoutTransaction(), changeLog, properties);
+
+        CompletableFuture<Boolean> write = buffer.write(1L, "PROCESSED");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> write.get(5, TimeUnit.SECONDS));
+        assertEquals("DB Error", error.getCause().getMessage());
+    }
+
+    @Test
+    void aFailureAfterTheCommitDoesNotFailTheCommittedWrites() throws Exception {
+        doAnswer(invocation -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    throw new IllegalStateException("Post-commit callback failed");
+                }
+            });
+            return null;
+        }).when(changeLog).statusChanged(anyCollection(), anyString());
+        buffer = new StatusWriteBuffer(itemRepository, committingWithCallbacks(), changeLog, properties);
+
+        assertTrue(buffer.write(1L, "PROCESSED").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void disabledBufferRejectsWrites() throws Exception {
+        properties.getWriteBuffer().setEnabled(false);
+        buffer = new StatusWriteBuffer(itemRepository, TransactionOperations.withoutTransaction(), changeLog, properties);
+
+        assertThrows(IllegalStateException.class, () -> buffer.write(1L, "PROCESSED"));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void closeFlushesPendingWritesAndRejectsNewOnes() throws Exception {
+        properties.getWriteBuffer().setFlushInterval(Duration.ofSeconds(1));
+        buffer = new StatusWriteBuffer(itemRepository, TransactionOperations.withoutTransaction(), changeLog, properties);
+        CompletableFuture<Boolean> write = buffer.write(1L, "PROCESSED");
+
+        buffer.close();
+
+        assertTrue(write.isDone());
+        assertTrue(write.get());
+        assertThrows(IllegalStateException.class, () -> buffer.write(2L, "PROCESSED"));
+    }
+
+    /**
+     * Runs the callback with transaction synchronization active, then calls the synchronizations the way a
+     * transaction manager does on commit: the completion callbacks run even if an after-commit one throws.
+     */
+    private static TransactionOperations committingWithCallbacks() {
+        return new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    T result = action.doInTransaction(new SimpleTransactionStatus());
+                    List<TransactionSynchronization> synchronizations =
+                            TransactionSynchronizationManager.getSynchronizations();
+                    try {
+                        synchronizations.forEach(TransactionSynchronization::afterCommit);
+                    } finally {
+                        synchronizations.forEach(sync ->
+                                sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                    }
+                    return result;
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            }
+        };
+    }
+}